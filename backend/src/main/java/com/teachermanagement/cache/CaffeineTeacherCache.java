@@ -0,0 +1,58 @@
+package com.teachermanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.teachermanagement.dto.TeacherDTO;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size-bounded teacher cache backed by Caffeine (W-TinyLFU eviction)
+ * Entries also expire after a while, so ages computed at load time stay
+ * current and writes made by other instances are eventually picked up
+ */
+public class CaffeineTeacherCache implements TeacherCache {
+    
+    private final Cache<Long, TeacherDTO> cache;
+    
+    public CaffeineTeacherCache(long maximumSize, Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+    
+    @Override
+    public Optional<TeacherDTO> get(Long id, Function<Long, Optional<TeacherDTO>> loader) {
+        // Misses are not cached, so a later create is visible immediately
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+    
+    @Override
+    public void put(TeacherDTO teacher) {
+        cache.put(teacher.getId(), teacher);
+    }
+    
+    @Override
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+    
+    @Override
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
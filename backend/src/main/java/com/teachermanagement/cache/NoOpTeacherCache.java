@@ -0,0 +1,31 @@
+package com.teachermanagement.cache;
+
+import com.teachermanagement.dto.TeacherDTO;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Pass-through cache used when caching is disabled
+ */
+public class NoOpTeacherCache implements TeacherCache {
+    
+    @Override
+    public Optional<TeacherDTO> get(Long id, Function<Long, Optional<TeacherDTO>> loader) {
+        return loader.apply(id);
+    }
+    
+    @Override
+    public void put(TeacherDTO teacher) {
+    }
+    
+    @Override
+    public void invalidate(Long id) {
+    }
+    
+    @Override
+    public Map<String, Object> stats() {
+        return Map.of("enabled", false);
+    }
+}
@@ -0,0 +1,34 @@
+package com.teachermanagement.cache;
+
+import com.teachermanagement.dto.TeacherDTO;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-process cache of teachers by ID, sitting under TeacherService
+ * Implementations are chosen in TeacherCacheConfig
+ */
+public interface TeacherCache {
+    
+    /**
+     * Get a teacher, calling the loader on a miss and caching what it finds
+     */
+    Optional<TeacherDTO> get(Long id, Function<Long, Optional<TeacherDTO>> loader);
+    
+    /**
+     * Store a teacher that was just written
+     */
+    void put(TeacherDTO teacher);
+    
+    /**
+     * Drop a teacher that was changed or removed
+     */
+    void invalidate(Long id);
+    
+    /**
+     * Hit, miss and eviction counters
+     */
+    Map<String, Object> stats();
+}
@@ -0,0 +1,162 @@
+package com.teachermanagement.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherField;
+import com.teachermanagement.dto.TeacherPage;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes teacher lists and pages as column names plus one array per row
+ * (Accept: application/vnd.teachers.columnar+json), so field names are not repeated for every row:
+ * {"columns":["id","fullName","dateOfBirth","numberOfClasses","age"],"rows":[[1,"Jane Doe","1980-01-01",3,45]],
+ *  "nextCursor":1,"limit":50}
+ * Sparse reads (fields=...) only get the columns that were selected, judged from the first row.
+ * Write-only; requests are still sent as plain JSON
+ */
+public class ColumnarTeacherConverter extends AbstractGenericHttpMessageConverter<Object> {
+    
+    public static final MediaType COLUMNAR_JSON = MediaType.parseMediaType("application/vnd.teachers.columnar+json");
+    
+    private final JsonFactory jsonFactory;
+    
+    public ColumnarTeacherConverter(JsonFactory jsonFactory) {
+        super(COLUMNAR_JSON);
+        this.jsonFactory = jsonFactory;
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TeacherPage.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+    
+    /**
+     * Only when the columnar type was asked for by name; a null media type means Spring is
+     * listing what it could produce, and offering this there would make it the default for Accept: *
+     */
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (mediaType == null || !COLUMNAR_JSON.isCompatibleWith(mediaType) || mediaType.isWildcardSubtype()) {
+            return false;
+        }
+        if (type instanceof ParameterizedType parameterized && List.class.isAssignableFrom(clazz)) {
+            return parameterized.getActualTypeArguments()[0] == TeacherDTO.class;
+        }
+        return TeacherPage.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        writeColumnar(value, outputMessage.getBody());
+    }
+    
+    /**
+     * Write a TeacherPage or a list of teachers in the columnar layout
+     */
+    @SuppressWarnings("unchecked")
+    public void writeColumnar(Object value, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            List<TeacherDTO> teachers = value instanceof TeacherPage page ? page.getItems() : (List<TeacherDTO>) value;
+            Set<TeacherField> columns = teachers.isEmpty() ? TeacherField.ALL : presentFields(teachers.get(0));
+            
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("columns");
+            for (TeacherField column : columns) {
+                generator.writeString(column.jsonName());
+            }
+            generator.writeEndArray();
+            
+            generator.writeArrayFieldStart("rows");
+            for (TeacherDTO teacher : teachers) {
+                generator.writeStartArray();
+                for (TeacherField column : columns) {
+                    writeField(generator, teacher, column);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+            
+            if (value instanceof TeacherPage page) {
+                generator.writeFieldName("nextCursor");
+                writeNumber(generator, page.getNextCursor());
+                generator.writeFieldName("limit");
+                writeNumber(generator, page.getLimit());
+            }
+            generator.writeEndObject();
+        }
+    }
+    
+    // Every row of one response comes from the same select, so the first row shows which fields were read
+    private static Set<TeacherField> presentFields(TeacherDTO teacher) {
+        Set<TeacherField> fields = EnumSet.noneOf(TeacherField.class);
+        for (TeacherField field : TeacherField.values()) {
+            if (field == TeacherField.ID || valueOf(teacher, field) != null) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+    
+    private static Object valueOf(TeacherDTO teacher, TeacherField field) {
+        return switch (field) {
+            case ID -> teacher.getId();
+            case FULL_NAME -> teacher.getFullName();
+            case DATE_OF_BIRTH -> teacher.getDateOfBirth();
+            case NUMBER_OF_CLASSES -> teacher.getNumberOfClasses();
+            case AGE -> teacher.getAge();
+        };
+    }
+    
+    private static void writeField(JsonGenerator generator, TeacherDTO teacher, TeacherField field) throws IOException {
+        Object value = valueOf(teacher, field);
+        if (value instanceof Number number) {
+            writeNumber(generator, number);
+        } else {
+            generator.writeString(value != null ? value.toString() : null);
+        }
+    }
+    
+    private static void writeNumber(JsonGenerator generator, @Nullable Number number) throws IOException {
+        if (number == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(number.longValue());
+        }
+    }
+    
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The columnar layout is write-only", inputMessage);
+    }
+    
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The columnar layout is write-only", inputMessage);
+    }
+}
@@ -0,0 +1,40 @@
+package com.teachermanagement.config;
+
+import com.teachermanagement.metrics.EndpointMetricsInterceptor;
+import com.teachermanagement.metrics.RequestMetrics;
+import com.teachermanagement.routing.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-endpoint database metrics for the API
+ * Boot already publishes http.server.requests, HikariCP and Hibernate statistics;
+ * this adds the work each endpoint does, so a pool under pressure can be traced to its callers
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    
+    private final MeterRegistry registry;
+    
+    public MetricsConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new EndpointMetricsInterceptor(registry)).addPathPatterns("/api/**");
+    }
+    
+    /**
+     * Boot applies this to the application task executor, which runs streaming response bodies,
+     * so their queries still count towards the request and stay on the primary when it is pinned
+     */
+    @Bean
+    public TaskDecorator requestMetricsTaskDecorator() {
+        return task -> ReplicaRoutingDataSource.propagate(RequestMetrics.propagate(task));
+    }
+}
@@ -0,0 +1,117 @@
+package com.teachermanagement.config;
+
+import com.teachermanagement.routing.ReadYourWritesInterceptor;
+import com.teachermanagement.routing.ReplicaHealth;
+import com.teachermanagement.routing.ReplicaRoutingDataSource;
+import com.teachermanagement.service.TeacherDataVersion;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split between the primary in spring.datasource and a replica, on when
+ * teacher.datasource.replica.url is set
+ * Both pools are built here rather than as beans of their own, so Boot's health check only sees
+ * the primary and a replica outage does not take the instance out of its load balancer
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "teacher.datasource.replica", name = "url")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+    
+    private final Environment environment;
+    
+    @Value("${teacher.datasource.replica.read-your-writes:true}")
+    private boolean readYourWrites;
+    
+    @Value("${teacher.datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+    
+    public ReadReplicaConfig(Environment environment) {
+        this.environment = environment;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        if (readYourWrites) {
+            interceptors.addInterceptor(new ReadYourWritesInterceptor(readYourWritesMs)).addPathPatterns("/api/**");
+        }
+    }
+    
+    @Bean
+    public ReplicaHealth replicaHealth(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return replicaRoutingDataSource.getHealth();
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            TeacherDataVersion dataVersion,
+            MeterRegistry meterRegistry,
+            @Value("${teacher.datasource.replica.url}") String replicaUrl,
+            @Value("${teacher.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${teacher.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${teacher.datasource.replica.max-lag-ms:1000}") long maxLagMs) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikari(primary, "spring.datasource.hikari", "primary", meterRegistry);
+        
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        // Fail over quickly instead of holding a read for the default 30 s when the replica is down
+        replica.setConnectionTimeout(2000);
+        replica.setReadOnly(true);
+        bindHikari(replica, "teacher.datasource.replica.hikari", "replica", meterRegistry);
+        
+        ReplicaHealth health = new ReplicaHealth(replica, maxLagMs, meterRegistry);
+        return new ReplicaRoutingDataSource(primary, replica, health, dataVersion, maxLagMs, meterRegistry);
+    }
+    
+    /**
+     * The DataSource for JPA and JdbcTemplate
+     * The lazy proxy holds back the physical connection until the first statement, by which
+     * time the transaction's read-only flag is known
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+    
+    /**
+     * Hibernate keeps a session's connection until the session closes by default, and with
+     * open-in-view that is the whole request; release it after each transaction instead, so a
+     * write following a read in the same request gets a primary connection of its own
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+    
+    private void bindHikari(HikariDataSource pool, String prefix, String poolName, MeterRegistry meterRegistry) {
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setMetricRegistry(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.teachermanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled housekeeping tasks such as export spool cleanup
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
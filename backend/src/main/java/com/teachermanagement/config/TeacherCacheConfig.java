@@ -0,0 +1,28 @@
+package com.teachermanagement.config;
+
+import com.teachermanagement.cache.CaffeineTeacherCache;
+import com.teachermanagement.cache.NoOpTeacherCache;
+import com.teachermanagement.cache.TeacherCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Chooses the teacher cache implementation used by TeacherService
+ */
+@Configuration
+public class TeacherCacheConfig {
+    
+    @Bean
+    public TeacherCache teacherCache(
+            @Value("${teacher.cache.enabled:true}") boolean enabled,
+            @Value("${teacher.cache.maximum-size:10000}") long maximumSize,
+            @Value("${teacher.cache.expire-after-write-minutes:10}") long expireAfterWriteMinutes) {
+        if (!enabled) {
+            return new NoOpTeacherCache();
+        }
+        return new CaffeineTeacherCache(maximumSize, Duration.ofMinutes(expireAfterWriteMinutes));
+    }
+}
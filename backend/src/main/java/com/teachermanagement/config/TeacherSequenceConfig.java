@@ -0,0 +1,36 @@
+package com.teachermanagement.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Moves the teacher id sequence past ids already in the table
+ * Rows inserted while ids came from the IDENTITY column are not known to the
+ * sequence Hibernate creates, so without this the first pooled block would collide
+ */
+@Configuration
+public class TeacherSequenceConfig {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Injected so the schema update (which creates the sequence) has run first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    public void alignSequence() {
+        try {
+            // With is_called set, the next pooled block starts right after max(id)
+            jdbcTemplate.queryForList(
+                    "SELECT setval('teachers_seq', m.max_id) " +
+                    "FROM (SELECT MAX(id) AS max_id FROM teachers) m " +
+                    "WHERE m.max_id >= (SELECT last_value FROM teachers_seq)");
+        } catch (Exception e) {
+            System.out.println("Could not align teachers_seq with existing ids: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.teachermanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pinning diagnostics for the virtual-thread mode (spring.threads.virtual.enabled)
+ * A virtual thread that blocks inside a synchronized block or native frame keeps its
+ * carrier thread, so enough of them stall every request. This listens for the JDK's
+ * jdk.VirtualThreadPinned events, times every long pin as teacher.virtual-threads.pinned
+ * and logs each place a pin happens the first time it is seen
+ * The JFR stream has a cost of its own, so teacher.virtual-threads.pinning-diagnostics can turn it off
+ */
+@Configuration
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "teacher.virtual-threads.pinning-diagnostics"}, havingValue = "true")
+public class VirtualThreadConfig {
+    
+    private static final int LOGGED_FRAMES = 8;
+    
+    @Value("${teacher.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private RecordingStream pinnedEvents;
+    
+    // Stacks already logged; one per place in the code that pins
+    private final Set<String> loggedStacks = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    public void startPinningDiagnostics() {
+        pinnedEvents = new RecordingStream();
+        pinnedEvents.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+                .withStackTrace();
+        Timer pinned = Timer.builder("teacher.virtual-threads.pinned")
+                .description("Virtual thread pins longer than the threshold")
+                .register(meterRegistry);
+        pinnedEvents.onEvent("jdk.VirtualThreadPinned", event -> {
+            pinned.record(event.getDuration());
+            StringBuilder stack = new StringBuilder();
+            if (event.getStackTrace() != null) {
+                List<RecordedFrame> frames = event.getStackTrace().getFrames();
+                for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+                    RecordedFrame frame = frames.get(i);
+                    stack.append("\n    at ").append(frame.getMethod().getType().getName())
+                            .append('.').append(frame.getMethod().getName())
+                            .append(':').append(frame.getLineNumber());
+                }
+            }
+            if (loggedStacks.add(stack.toString())) {
+                System.out.println("Virtual thread pinned for " + event.getDuration().toMillis() + " ms" + stack);
+            }
+        });
+        pinnedEvents.startAsync();
+        System.out.println("Virtual threads enabled; logging pins longer than " + pinnedThresholdMs + " ms");
+    }
+    
+    @PreDestroy
+    public void stopPinningDiagnostics() {
+        pinnedEvents.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.teachermanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Response encodings chosen by the Accept header, next to the default JSON:
+ * application/cbor and application/x-jackson-smile (Spring adds these converters when the
+ * Jackson modules are present), and the columnar layout for teacher lists
+ * Gzip is applied on top by the container (server.compression)
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+    
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+    private final ObjectMapper objectMapper;
+    
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders, ObjectMapper objectMapper) {
+        this.builders = builders;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int json = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof MappingJackson2HttpMessageConverter && i < json) {
+                json = i;
+            }
+            // Spring builds these mappers without Boot's Jackson settings; use the same settings as JSON
+            if (converter instanceof MappingJackson2CborHttpMessageConverter cbor) {
+                cbor.setObjectMapper(builders.getObject().factory(new CBORFactory()).build());
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter smile) {
+                smile.setObjectMapper(builders.getObject().factory(new SmileFactory()).build());
+            }
+        }
+        // Ahead of JSON, which would otherwise claim the type as one more +json media type
+        converters.add(json, new ColumnarTeacherConverter(objectMapper.getFactory()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.teachermanagement.controller;
+
+import com.teachermanagement.dto.ExportJob;
+import com.teachermanagement.service.ExportFileLeases;
+import com.teachermanagement.service.ExportFormat;
+import com.teachermanagement.service.ExportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST Controller for asynchronous export jobs
+ * Start a job, poll its status, then download the spooled file
+ */
+@RestController
+@RequestMapping("/api/teachers/export/jobs")
+@CrossOrigin(origins = "*")
+public class ExportJobController {
+    
+    @Autowired
+    private ExportJobService exportJobService;
+    
+    /**
+     * Start an export job (format=pdf or format=excel)
+     */
+    @PostMapping
+    public ResponseEntity<ExportJob> startJob(@RequestParam String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            ExportJob job = exportJobService.submit(exportFormat);
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQuery(null)
+                    .path("/{id}")
+                    .buildAndExpand(job.getId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+    
+    /**
+     * Get job status and progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJob> getJob(@PathVariable String id) {
+        return exportJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Download the finished file
+     */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<StreamingResponseBody> downloadFile(@PathVariable String id,
+                                                              HttpServletRequest request) throws IOException {
+        Optional<ExportJob> found = exportJobService.getJob(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportJob job = found.get();
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        
+        // Expired between the status check and here
+        Optional<ExportFileLeases.Lease> file = exportJobService.openFile(job);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return FileResponses.sendFile(file.get(), FileResponses.attachmentHeaders(job.getFormat()), request);
+    }
+}
@@ -0,0 +1,78 @@
+package com.teachermanagement.controller;
+
+import com.teachermanagement.service.ExportFileLeases;
+import com.teachermanagement.service.ExportFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Helpers for sending export files that already exist on disk
+ */
+final class FileResponses {
+    
+    // Tomcat request attributes for handing a file to the connector's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    private FileResponses() {}
+    
+    /**
+     * Response headers for downloading an export as an attachment
+     */
+    static HttpHeaders attachmentHeaders(ExportFormat format) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDispositionFormData("attachment", format.getFileName());
+        return headers;
+    }
+    
+    /**
+     * Send a leased file without copying it through the heap, releasing the lease when done
+     * Uses the connector's sendfile when available, otherwise FileChannel.transferTo.
+     * Sendfile opens the file after this returns, so its lease ends here and the delete grace
+     * period in ExportFileLeases covers the rest
+     */
+    static ResponseEntity<StreamingResponseBody> sendFile(ExportFileLeases.Lease lease, HttpHeaders headers,
+                                                         HttpServletRequest request) throws IOException {
+        Path file = lease.getFile();
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            lease.close();
+            throw e;
+        }
+        headers.setContentLength(size);
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            lease.close();
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try (lease; FileChannel channel = FileChannel.open(file)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        };
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
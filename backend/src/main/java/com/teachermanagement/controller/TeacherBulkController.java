@@ -0,0 +1,60 @@
+package com.teachermanagement.controller;
+
+import com.teachermanagement.dto.BulkResult;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.service.TeacherBulkService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for bulk teacher writes
+ * Each endpoint takes an array and reports a result for every item, in request order
+ */
+@RestController
+@RequestMapping("/api/teachers/bulk")
+@CrossOrigin(origins = "*")
+public class TeacherBulkController {
+    
+    @Autowired
+    private TeacherBulkService bulkService;
+    
+    @Value("${teacher.bulk.max-items:10000}")
+    private int maxItems;
+    
+    /**
+     * Create teachers
+     */
+    @PostMapping
+    public ResponseEntity<BulkResult> createTeachers(@RequestBody List<TeacherDTO> teachers) {
+        if (teachers.size() > maxItems) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bulkService.createTeachers(teachers));
+    }
+    
+    /**
+     * Update teachers; every item must include its id
+     */
+    @PutMapping
+    public ResponseEntity<BulkResult> updateTeachers(@RequestBody List<TeacherDTO> teachers) {
+        if (teachers.size() > maxItems) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bulkService.updateTeachers(teachers));
+    }
+    
+    /**
+     * Delete teachers by id
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkResult> deleteTeachers(@RequestBody List<Long> ids) {
+        if (ids.size() > maxItems) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bulkService.deleteTeachers(ids));
+    }
+}
@@ -1,21 +1,48 @@
 package com.teachermanagement.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.teachermanagement.dto.FilterCriteria;
+import com.teachermanagement.dto.TeacherChangePage;
 import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherField;
+import com.teachermanagement.dto.TeacherPage;
+import com.teachermanagement.dto.TeacherSuggestion;
+import com.teachermanagement.routing.ReplicaRoutingDataSource;
+import com.teachermanagement.service.ExportCache;
+import com.teachermanagement.service.ExportFileLeases;
+import com.teachermanagement.service.ExportFormat;
 import com.teachermanagement.service.ExportService;
+import com.teachermanagement.service.TeacherChangeFeed;
+import com.teachermanagement.service.TeacherDataVersion;
 import com.teachermanagement.service.TeacherService;
+import com.teachermanagement.service.TeacherSuggestService;
+import com.teachermanagement.service.TeacherSyncService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * REST Controller for Teacher Management System
@@ -32,20 +59,120 @@ public class TeacherController {
     @Autowired
     private ExportService exportService;
     
+    @Autowired
+    private TeacherSuggestService suggestService;
+    
+    @Autowired
+    private ExportCache exportCache;
+    
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private TeacherChangeFeed changeFeed;
+    
+    @Autowired
+    private TeacherSyncService syncService;
+    
+    @Autowired
+    private Validator validator;
+    
     /**
-     * Get all teachers
+     * Get all teachers, one keyset page at a time
+     * Answers If-None-Match with 304 while the data is unchanged.
+     * fields=id,fullName reads and returns only those fields; the id is always included
      */
     @GetMapping
-    public ResponseEntity<List<TeacherDTO>> getAllTeachers() {
+    public ResponseEntity<TeacherPage> getAllTeachers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        Set<TeacherField> selected;
+        try {
+            selected = TeacherField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (notModified(webRequest, "teachers")) {
+            return null;
+        }
         try {
-            List<TeacherDTO> teachers = teacherService.getAllTeachers();
-            return ResponseEntity.ok(teachers);
+            TeacherPage page = teacherService.getTeachersPage(after, limit, selected);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(page);
         } catch (Exception e) {
             e.printStackTrace(); // Add logging for debugging
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Stream every teacher as newline-delimited JSON (Accept: application/x-ndjson)
+     * Rows are written as they are read, so memory stays flat for any table size
+     */
+    @GetMapping(produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllTeachers() {
+        // Let the servlet buffer decide when to flush instead of flushing every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                teacherService.streamAllTeachers(teacher -> {
+                    try {
+                        writer.writeValue(generator, teacher);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    /**
+     * Live feed of creates, updates and deletes as Server-Sent Events
+     * Each event id is the data version; a "resync" event means the client fell behind and should reload
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId)
+                .map(emitter -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(emitter))
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+    
+    /**
+     * Teachers created, updated or deleted after a change version, for incremental sync
+     * Start with since=0 and keep passing nextSince back; follow hasMore to drain a backlog
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TeacherChangePage> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        long upTo = syncService.visibleHorizon();
+        // The horizon moves as writes commit, here or on another instance, and the data version covers the rest
+        String tag = dataVersion.etag("changes", dataVersion.current(), queryKey(webRequest) + "&upTo=" + upTo);
+        if (webRequest.checkNotModified(tag)) {
+            return null;
+        }
+        try {
+            // The horizon was read on the primary, and a lagging replica may not have every version below it
+            TeacherChangePage page = ReplicaRoutingDataSource.onPrimary(() ->
+                    syncService.changesSince(since, upTo, limit));
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(page);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @GetMapping("/test")
     public ResponseEntity<String> testEndpoint() {
         return ResponseEntity.ok("Backend is working!");
@@ -53,12 +180,16 @@ public class TeacherController {
     
     /**
      * Get teacher by ID
+     * The ETag is the row version: send it back as If-None-Match to revalidate, or as If-Match to write conditionally
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TeacherDTO> getTeacherById(@PathVariable Long id) {
+    public ResponseEntity<TeacherDTO> getTeacherById(@PathVariable Long id, WebRequest webRequest) {
         try {
             Optional<TeacherDTO> teacher = teacherService.getTeacherById(id);
-            return teacher.map(ResponseEntity::ok)
+            if (teacher.isPresent() && webRequest.checkNotModified(versionTag(teacher.get()))) {
+                return null;
+            }
+            return teacher.map(found -> ResponseEntity.ok().eTag(versionTag(found)).body(found))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -72,7 +203,7 @@ public class TeacherController {
     public ResponseEntity<TeacherDTO> createTeacher(@Valid @RequestBody TeacherDTO teacherDTO) {
         try {
             TeacherDTO createdTeacher = teacherService.createTeacher(teacherDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdTeacher);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(versionTag(createdTeacher)).body(createdTeacher);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
@@ -80,14 +211,47 @@ public class TeacherController {
     
     /**
      * Update an existing teacher
+     * Conditional on If-Match (412 on mismatch) or on the version in the body (409 on mismatch)
      */
     @PutMapping("/{id}")
     public ResponseEntity<TeacherDTO> updateTeacher(@PathVariable Long id, 
-                                                   @Valid @RequestBody TeacherDTO teacherDTO) {
+                                                   @Valid @RequestBody TeacherDTO teacherDTO,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
+        Long expectedVersion = ifMatch != null ? matchedVersion(ifMatch) : teacherDTO.getVersion();
         try {
-            Optional<TeacherDTO> updatedTeacher = teacherService.updateTeacher(id, teacherDTO);
-            return updatedTeacher.map(ResponseEntity::ok)
+            Optional<TeacherDTO> updatedTeacher = teacherService.updateTeacher(id, teacherDTO, expectedVersion);
+            return updatedTeacher.map(updated -> ResponseEntity.ok().eTag(versionTag(updated)).body(updated))
                     .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    /**
+     * Partially update a teacher: only the fields present in the body change, in one UPDATE
+     * Conditional in the same way as PUT
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<TeacherDTO> patchTeacher(@PathVariable Long id,
+                                                  @RequestBody TeacherDTO changes,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
+        // Absent fields are null and stay unchanged, so only the values that were sent are checked
+        boolean invalid = validator.validate(changes).stream()
+                .anyMatch(violation -> violation.getInvalidValue() != null);
+        if (invalid) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        Long expectedVersion = ifMatch != null ? matchedVersion(ifMatch) : changes.getVersion();
+        try {
+            Optional<TeacherDTO> patchedTeacher = teacherService.patchTeacher(id, changes, expectedVersion);
+            return patchedTeacher.map(patched -> ResponseEntity.ok().eTag(versionTag(patched)).body(patched))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
@@ -95,13 +259,18 @@ public class TeacherController {
     
     /**
      * Delete a teacher
+     * Conditional on If-Match when it is sent (412 on mismatch)
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTeacher(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteTeacher(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch) {
         try {
-            boolean deleted = teacherService.deleteTeacher(id);
+            boolean deleted = teacherService.deleteTeacher(id, ifMatch != null ? matchedVersion(ifMatch) : null);
             return deleted ? ResponseEntity.noContent().build() 
                           : ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -109,25 +278,70 @@ public class TeacherController {
     
     /**
      * Search teachers by name
+     * Takes the same fields parameter as the list
      */
     @GetMapping("/search")
-    public ResponseEntity<List<TeacherDTO>> searchTeachers(@RequestParam String query) {
+    public ResponseEntity<TeacherPage> searchTeachers(
+            @RequestParam String query,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        Set<TeacherField> selected;
+        try {
+            selected = TeacherField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (notModified(webRequest, "search")) {
+            return null;
+        }
         try {
-            List<TeacherDTO> teachers = teacherService.searchTeachers(query);
-            return ResponseEntity.ok(teachers);
+            TeacherPage page = teacherService.searchTeachersPage(query, after, limit, selected);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(page);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Autocomplete teacher names from a prefix
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TeacherSuggestion>> suggestTeachers(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(suggestService.suggest(prefix, limit));
+    }
+    
     /**
      * Filter teachers by criteria
+     * A POST, so the 304 is answered here: Spring's checkNotModified would send 412 for a match.
+     * The criteria are part of the tag, and clients have to send If-None-Match themselves.
+     * Takes the same fields parameter as the list
      */
     @PostMapping("/filter")
-    public ResponseEntity<List<TeacherDTO>> filterTeachers(@RequestBody FilterCriteria criteria) {
+    public ResponseEntity<TeacherPage> filterTeachers(
+            @RequestBody FilterCriteria criteria,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) throws IOException {
+        Set<TeacherField> selected;
         try {
-            List<TeacherDTO> teachers = teacherService.filterTeachers(criteria);
-            return ResponseEntity.ok(teachers);
+            selected = TeacherField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = dataVersion.etag("filter", dataVersion.current(),
+                queryKey(webRequest) + objectMapper.writeValueAsString(criteria));
+        if (etagMatches(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            TeacherPage page = teacherService.filterTeachersPage(criteria, after, limit, selected);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                    .body(page);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -139,10 +353,15 @@ public class TeacherController {
     @GetMapping("/filter/age")
     public ResponseEntity<List<TeacherDTO>> getTeachersByAge(
             @RequestParam Integer minAge, 
-            @RequestParam Integer maxAge) {
+            @RequestParam Integer maxAge,
+            WebRequest webRequest) {
+        if (notModified(webRequest, "filter-age")) {
+            return null;
+        }
         try {
             List<TeacherDTO> teachers = teacherService.getTeachersByAgeRange(minAge, maxAge);
-            return ResponseEntity.ok(teachers);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                    .body(teachers);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -154,10 +373,15 @@ public class TeacherController {
     @GetMapping("/filter/classes")
     public ResponseEntity<List<TeacherDTO>> getTeachersByClasses(
             @RequestParam Integer minClasses, 
-            @RequestParam Integer maxClasses) {
+            @RequestParam Integer maxClasses,
+            WebRequest webRequest) {
+        if (notModified(webRequest, "filter-classes")) {
+            return null;
+        }
         try {
             List<TeacherDTO> teachers = teacherService.getTeachersByClassesRange(minClasses, maxClasses);
-            return ResponseEntity.ok(teachers);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                    .body(teachers);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -167,52 +391,126 @@ public class TeacherController {
      * Get statistics
      */
     @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getStatistics() {
+    public ResponseEntity<Map<String, Object>> getStatistics(WebRequest webRequest) {
+        if (notModified(webRequest, "statistics")) {
+            return null;
+        }
         try {
             Map<String, Object> stats = new HashMap<>();
             stats.put("totalTeachers", teacherService.getTotalTeachersCount());
             stats.put("averageClasses", teacherService.getAverageNumberOfClasses());
-            return ResponseEntity.ok(stats);
+            stats.put("classesDistribution", teacherService.getClassesDistribution());
+            stats.put("ageDistribution", teacherService.getAgeDistribution());
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(stats);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Get teacher cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(teacherService.getCacheStatistics());
+    }
+    
     /**
      * Export teachers to PDF
+     * Served from the export cache when the data has not changed since the last render
      */
     @GetMapping("/export/pdf")
-    public ResponseEntity<byte[]> exportToPDF() {
-        try {
-            List<TeacherDTO> teachers = teacherService.getAllTeachers();
-            byte[] pdfBytes = exportService.exportToPDF(teachers);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "teachers.pdf");
-            
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<StreamingResponseBody> exportToPDF(WebRequest webRequest,
+                                                            HttpServletRequest request) throws IOException {
+        return cachedExport(ExportFormat.PDF, webRequest, request);
     }
     
     /**
      * Export teachers to Excel
+     * Served from the export cache when the data has not changed since the last render
      */
     @GetMapping("/export/excel")
-    public ResponseEntity<byte[]> exportToExcel() {
-        try {
-            List<TeacherDTO> teachers = teacherService.getAllTeachers();
-            byte[] excelBytes = exportService.exportToExcel(teachers);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-            headers.setContentDispositionFormData("attachment", "teachers.xlsx");
-            
-            return ResponseEntity.ok().headers(headers).body(excelBytes);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    public ResponseEntity<StreamingResponseBody> exportToExcel(WebRequest webRequest,
+                                                              HttpServletRequest request) throws IOException {
+        return cachedExport(ExportFormat.EXCEL, webRequest, request);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> cachedExport(ExportFormat format, WebRequest webRequest,
+                                                               HttpServletRequest request) throws IOException {
+        long version = dataVersion.current();
+        if (webRequest.checkNotModified(dataVersion.etag(format.name().toLowerCase(), version))) {
+            return null;
+        }
+        
+        HttpHeaders headers = FileResponses.attachmentHeaders(format);
+        headers.setCacheControl(CacheControl.noCache());
+        
+        Optional<ExportFileLeases.Lease> cached = exportCache.open(format, version);
+        if (cached.isPresent()) {
+            return FileResponses.sendFile(cached.get(), headers, request);
+        }
+        
+        StreamingResponseBody body = outputStream -> exportCache.renderThrough(format, version, outputStream);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+    
+    /**
+     * Conditional GET against the data version, checked before any database access
+     * The version is read before the query runs, so a concurrent write can only make
+     * the tag older than the body, which costs the client one extra fetch
+     */
+    private boolean notModified(WebRequest webRequest, String prefix) {
+        return webRequest.checkNotModified(dataVersion.etag(prefix, dataVersion.current(), queryKey(webRequest)));
+    }
+    
+    /**
+     * Request parameters in a fixed order, so the same query always gets the same tag,
+     * plus the Accept header, since each wire format is a separate representation
+     */
+    private static String queryKey(WebRequest webRequest) {
+        StringBuilder key = new StringBuilder();
+        new TreeMap<>(webRequest.getParameterMap()).forEach((name, values) ->
+                key.append(name).append('=').append(String.join(",", values)).append('&'));
+        return key.append(webRequest.getHeader(HttpHeaders.ACCEPT)).toString();
+    }
+    
+    private static String versionTag(TeacherDTO teacher) {
+        return "\"" + teacher.getVersion() + "\"";
+    }
+    
+    /**
+     * Row version named by If-Match; "*" matches any version, and a tag that is not a version matches none
+     */
+    private static Long matchedVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+    
+    // Weak comparison, as If-None-Match requires
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(opaque)) {
+                return true;
+            }
         }
+        return false;
     }
 }
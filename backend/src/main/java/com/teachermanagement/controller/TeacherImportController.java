@@ -0,0 +1,80 @@
+package com.teachermanagement.controller;
+
+import com.teachermanagement.dto.ImportReport;
+import com.teachermanagement.service.TeacherImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST Controller for importing teachers from CSV or XLSX files
+ * The file can be sent as the raw request body (Content-Type text/csv or the
+ * XLSX type), which is read as it arrives, or as a multipart "file" upload
+ */
+@RestController
+@RequestMapping("/api/teachers/import")
+@CrossOrigin(origins = "*")
+public class TeacherImportController {
+    
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    
+    @Autowired
+    private TeacherImportService importService;
+    
+    /**
+     * Import a CSV request body
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(HttpServletRequest request) throws Exception {
+        return respond(() -> importService.importCsv(request.getInputStream()));
+    }
+    
+    /**
+     * Import an XLSX request body
+     */
+    @PostMapping(consumes = XLSX)
+    public ResponseEntity<ImportReport> importExcel(HttpServletRequest request) throws Exception {
+        return respond(() -> importService.importExcel(request.getInputStream()));
+    }
+    
+    /**
+     * Import an uploaded .csv or .xlsx file
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReport> importFile(@RequestParam("file") MultipartFile file) throws Exception {
+        String name = file.getOriginalFilename();
+        boolean excel = name != null && name.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+        return respond(() -> {
+            try (InputStream in = file.getInputStream()) {
+                return excel ? importService.importExcel(in) : importService.importCsv(in);
+            }
+        });
+    }
+    
+    /**
+     * 200 when every row was processed, 422 when the import stopped part way,
+     * 503 when too many imports are already running
+     */
+    private ResponseEntity<ImportReport> respond(Callable<ImportReport> importer) throws Exception {
+        try {
+            ImportReport report = importer.call();
+            return ResponseEntity.status(report.isCompleted() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(report);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.teachermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Outcome of one item in a bulk request
+ */
+public class BulkItemResult {
+    
+    public enum Status { CREATED, UPDATED, DELETED, NOT_FOUND, CONFLICT, INVALID, FAILED }
+    
+    private int index;
+    private Long id;
+    private Status status;
+    // Row version after a create or update, to send back with the next update
+    private Long version;
+    private String error;
+    
+    // Default constructor
+    public BulkItemResult() {}
+    
+    // Constructor with parameters
+    public BulkItemResult(int index, Long id, Status status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+    
+    public BulkItemResult(int index, Long id, Status status, Long version, String error) {
+        this(index, id, status, error);
+        this.version = version;
+    }
+    
+    /**
+     * Whether the item was written
+     */
+    @JsonIgnore
+    public boolean isSucceeded() {
+        return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+    }
+    
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,58 @@
+package com.teachermanagement.dto;
+
+import java.util.List;
+
+/**
+ * Report for a bulk request, with one result per item in request order
+ */
+public class BulkResult {
+    
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> items;
+    
+    // Default constructor
+    public BulkResult() {}
+    
+    // Constructor with parameters
+    public BulkResult(List<BulkItemResult> items) {
+        this.items = items;
+        this.total = items.size();
+        this.succeeded = (int) items.stream().filter(BulkItemResult::isSucceeded).count();
+        this.failed = total - succeeded;
+    }
+    
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+    
+    public void setTotal(int total) {
+        this.total = total;
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<BulkItemResult> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<BulkItemResult> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,109 @@
+package com.teachermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.teachermanagement.service.ExportFormat;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Status of an asynchronous export job
+ * Updated by the export worker thread and read by status requests
+ */
+public class ExportJob {
+    
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+    
+    private final String id;
+    private final ExportFormat format;
+    private final Instant createdAt;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    
+    private volatile Status status = Status.QUEUED;
+    private volatile long totalRows;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Path file;
+    
+    public ExportJob(String id, ExportFormat format) {
+        this.id = id;
+        this.format = format;
+        this.createdAt = Instant.now();
+    }
+    
+    /**
+     * Percentage of rows written so far, 100 once the file is complete
+     */
+    public int getProgress() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        if (totalRows <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99, rowsWritten.get() * 100 / totalRows);
+    }
+    
+    public void incrementRowsWritten() {
+        rowsWritten.incrementAndGet();
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public ExportFormat getFormat() {
+        return format;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public long getTotalRows() {
+        return totalRows;
+    }
+    
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    @JsonIgnore
+    public Path getFile() {
+        return file;
+    }
+    
+    public void setFile(Path file) {
+        this.file = file;
+    }
+}
@@ -0,0 +1,97 @@
+package com.teachermanagement.dto;
+
+import java.util.List;
+
+/**
+ * Result of a file import
+ * Rows are numbered as in the file, header included; only the first
+ * errors are listed, but rejected counts every rejected row
+ */
+public class ImportReport {
+    
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private boolean completed;
+    private String failure;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+    
+    // Default constructor
+    public ImportReport() {}
+    
+    // Getters and Setters
+    public long getRowsRead() {
+        return rowsRead;
+    }
+    
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+    
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+    
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+    
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+    
+    public String getFailure() {
+        return failure;
+    }
+    
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+    
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+    
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+    
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
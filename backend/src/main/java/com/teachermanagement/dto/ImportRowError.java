@@ -0,0 +1,36 @@
+package com.teachermanagement.dto;
+
+/**
+ * A rejected import row and why it was rejected
+ */
+public class ImportRowError {
+    
+    private long row;
+    private String error;
+    
+    // Default constructor
+    public ImportRowError() {}
+    
+    // Constructor with parameters
+    public ImportRowError(long row, String error) {
+        this.row = row;
+        this.error = error;
+    }
+    
+    // Getters and Setters
+    public long getRow() {
+        return row;
+    }
+    
+    public void setRow(long row) {
+        this.row = row;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
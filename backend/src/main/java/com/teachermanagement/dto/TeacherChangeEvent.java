@@ -0,0 +1,58 @@
+package com.teachermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One change to the teacher table, as published on /api/teachers/events
+ * RESYNC tells the client its local copy can no longer be patched and must be reloaded
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TeacherChangeEvent {
+    
+    public enum Type { CREATED, UPDATED, DELETED, RESYNC }
+    
+    private final Type type;
+    private final long version;
+    private final Long id;
+    private final TeacherDTO teacher;
+    
+    public TeacherChangeEvent(Type type, long version, Long id, TeacherDTO teacher) {
+        this.type = type;
+        this.version = version;
+        this.id = id;
+        this.teacher = teacher;
+    }
+    
+    public static TeacherChangeEvent created(long version, TeacherDTO teacher) {
+        return new TeacherChangeEvent(Type.CREATED, version, teacher.getId(), teacher);
+    }
+    
+    public static TeacherChangeEvent updated(long version, TeacherDTO teacher) {
+        return new TeacherChangeEvent(Type.UPDATED, version, teacher.getId(), teacher);
+    }
+    
+    public static TeacherChangeEvent deleted(long version, Long id) {
+        return new TeacherChangeEvent(Type.DELETED, version, id, null);
+    }
+    
+    public static TeacherChangeEvent resync(long version) {
+        return new TeacherChangeEvent(Type.RESYNC, version, null, null);
+    }
+    
+    // Getters
+    public Type getType() {
+        return type;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public TeacherDTO getTeacher() {
+        return teacher;
+    }
+}
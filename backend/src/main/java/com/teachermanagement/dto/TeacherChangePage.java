@@ -0,0 +1,59 @@
+package com.teachermanagement.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of incremental sync: teachers created or updated, and ids deleted, after a change version
+ * Pass nextSince back as "since" to fetch the following page, or later to pick up new changes
+ */
+public class TeacherChangePage {
+    
+    private List<TeacherDTO> upserted;
+    private List<Long> deleted;
+    private long nextSince;
+    private boolean hasMore;
+    
+    // Default constructor
+    public TeacherChangePage() {}
+    
+    // Constructor with parameters
+    public TeacherChangePage(List<TeacherDTO> upserted, List<Long> deleted, long nextSince, boolean hasMore) {
+        this.upserted = upserted;
+        this.deleted = deleted;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public List<TeacherDTO> getUpserted() {
+        return upserted;
+    }
+    
+    public void setUpserted(List<TeacherDTO> upserted) {
+        this.upserted = upserted;
+    }
+    
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+    
+    public long getNextSince() {
+        return nextSince;
+    }
+    
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
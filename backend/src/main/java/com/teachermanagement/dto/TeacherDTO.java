@@ -1,12 +1,16 @@
 package com.teachermanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
+import java.time.Period;
 
 /**
  * Data Transfer Object for Teacher
  * Used for API requests and responses
+ * Null fields are left out, so a sparse read (fields=...) only serializes what was selected
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TeacherDTO {
     
     private Long id;
@@ -19,12 +23,16 @@ public class TeacherDTO {
     @Past(message = "Date of birth must be in the past")
     private LocalDate dateOfBirth;
     
+    @NotNull(message = "Number of classes is required")
     @Min(value = 1, message = "Number of classes must be at least 1")
     @Max(value = 50, message = "Number of classes cannot exceed 50")
     private Integer numberOfClasses;
     
     private Integer age;
     
+    // Row version, only filled on single-teacher reads and writes; send it back to update conditionally
+    private Long version;
+    
     // Default constructor
     public TeacherDTO() {}
     
@@ -37,6 +45,12 @@ public class TeacherDTO {
         this.age = age;
     }
     
+    // Constructor for JPQL projections; age is derived from the date of birth
+    public TeacherDTO(Long id, String fullName, LocalDate dateOfBirth, Integer numberOfClasses) {
+        this(id, fullName, dateOfBirth, numberOfClasses,
+                dateOfBirth != null ? Period.between(dateOfBirth, LocalDate.now()).getYears() : null);
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -77,4 +91,12 @@ public class TeacherDTO {
     public void setAge(Integer age) {
         this.age = age;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
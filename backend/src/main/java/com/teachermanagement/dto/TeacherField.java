@@ -0,0 +1,60 @@
+package com.teachermanagement.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of TeacherDTO that a client can pick with the fields= parameter
+ */
+public enum TeacherField {
+    
+    ID("id"),
+    FULL_NAME("fullName"),
+    DATE_OF_BIRTH("dateOfBirth"),
+    NUMBER_OF_CLASSES("numberOfClasses"),
+    AGE("age");
+    
+    public static final Set<TeacherField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TeacherField.class));
+    
+    private final String jsonName;
+    
+    TeacherField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+    
+    /**
+     * Property name in the JSON representation
+     */
+    public String jsonName() {
+        return jsonName;
+    }
+    
+    /**
+     * Parse a comma-separated list such as "id,fullName"; a missing or blank list means every field
+     * Names are matched case-insensitively. The id is always included, because the keyset cursor is built from it
+     */
+    public static Set<TeacherField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<TeacherField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fromJsonName(trimmed));
+        }
+        return selected.size() == ALL.size() ? ALL : Collections.unmodifiableSet(selected);
+    }
+    
+    private static TeacherField fromJsonName(String name) {
+        for (TeacherField field : values()) {
+            if (field.jsonName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
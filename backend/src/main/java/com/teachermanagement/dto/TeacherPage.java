@@ -0,0 +1,49 @@
+package com.teachermanagement.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of teachers returned by the keyset-paginated endpoints
+ * Pass nextCursor back as the "after" parameter to fetch the following page
+ */
+public class TeacherPage {
+    
+    private List<TeacherDTO> items;
+    private Long nextCursor;
+    private Integer limit;
+    
+    // Default constructor
+    public TeacherPage() {}
+    
+    // Constructor with parameters
+    public TeacherPage(List<TeacherDTO> items, Long nextCursor, Integer limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+    
+    // Getters and Setters
+    public List<TeacherDTO> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<TeacherDTO> items) {
+        this.items = items;
+    }
+    
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public Integer getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,24 @@
+package com.teachermanagement.dto;
+
+/**
+ * A teacher as it was before and after one write
+ */
+public class TeacherRevision {
+    
+    private final TeacherDTO before;
+    private final TeacherDTO after;
+    
+    public TeacherRevision(TeacherDTO before, TeacherDTO after) {
+        this.before = before;
+        this.after = after;
+    }
+    
+    // Getters
+    public TeacherDTO getBefore() {
+        return before;
+    }
+    
+    public TeacherDTO getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,36 @@
+package com.teachermanagement.dto;
+
+/**
+ * DTO for one autocomplete suggestion
+ */
+public class TeacherSuggestion {
+    
+    private Long id;
+    private String fullName;
+    
+    // Default constructor
+    public TeacherSuggestion() {}
+    
+    // Constructor with parameters
+    public TeacherSuggestion(Long id, String fullName) {
+        this.id = id;
+        this.fullName = fullName;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+}
@@ -0,0 +1,83 @@
+package com.teachermanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a RequestMetrics to each API request and, once the response is complete,
+ * records its database work tagged with the same uri and method as http.server.requests
+ * The metrics live in a request attribute, so async dispatches of a streaming response
+ * add to the same request
+ */
+public class EndpointMetricsInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final String ATTRIBUTE = RequestMetrics.class.getName();
+    
+    private final MeterRegistry registry;
+    
+    public EndpointMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics metrics = (RequestMetrics) request.getAttribute(ATTRIBUTE);
+        if (metrics == null) {
+            metrics = new RequestMetrics();
+            request.setAttribute(ATTRIBUTE, metrics);
+        }
+        RequestMetrics.bind(metrics);
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The response completes on another dispatch; the container thread is free for other requests
+        RequestMetrics.unbind();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestMetrics.unbind();
+        RequestMetrics metrics = (RequestMetrics) request.getAttribute(ATTRIBUTE);
+        if (metrics == null) {
+            return;
+        }
+        
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("uri", pattern != null ? pattern.toString() : "UNKNOWN", "method", request.getMethod());
+        
+        DistributionSummary.builder("teacher.request.statements")
+                .description("JDBC statements and batches executed per request")
+                .tags(tags).register(registry)
+                .record(metrics.statements.sum());
+        DistributionSummary.builder("teacher.request.entity.loads")
+                .description("Entities hydrated per request")
+                .tags(tags).register(registry)
+                .record(metrics.entityLoads.sum());
+        DistributionSummary.builder("teacher.request.flushes")
+                .description("Hibernate flushes per request")
+                .tags(tags).register(registry)
+                .record(metrics.flushes.sum());
+        Timer.builder("teacher.request.connection.wait")
+                .description("Time spent waiting for pool connections per request")
+                .publishPercentileHistogram()
+                .tags(tags).register(registry)
+                .record(metrics.connectionWaitNanos.sum(), TimeUnit.NANOSECONDS);
+        Timer.builder("teacher.request.connection.usage")
+                .description("Time pool connections were held per request")
+                .publishPercentileHistogram()
+                .tags(tags).register(registry)
+                .record(metrics.connectionUsageNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+}
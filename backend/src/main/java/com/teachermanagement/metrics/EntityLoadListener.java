@@ -0,0 +1,14 @@
+package com.teachermanagement.metrics;
+
+import jakarta.persistence.PostLoad;
+
+/**
+ * JPA entity listener counting entities hydrated for the current request
+ */
+public class EntityLoadListener {
+    
+    @PostLoad
+    public void onLoad(Object entity) {
+        RequestMetrics.recordEntityLoad();
+    }
+}
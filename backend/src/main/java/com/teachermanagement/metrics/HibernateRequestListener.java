@@ -0,0 +1,61 @@
+package com.teachermanagement.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Per-session Hibernate listener that adds statements, flushes and connection
+ * wait and hold times to the request the session is working for
+ * Registered through hibernate.session.events.auto, so Hibernate creates one per session
+ */
+public class HibernateRequestListener implements SessionEventListener {
+    
+    private long acquisitionStart;
+    private long acquiredAt;
+    
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        acquiredAt = System.nanoTime();
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.connectionWaitNanos.add(acquiredAt - acquisitionStart);
+        }
+    }
+    
+    @Override
+    public void jdbcConnectionReleaseEnd() {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null && acquiredAt != 0) {
+            metrics.connectionUsageNanos.add(System.nanoTime() - acquiredAt);
+        }
+        acquiredAt = 0;
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.statements.increment();
+        }
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.statements.increment();
+        }
+    }
+    
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.flushes.increment();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.teachermanagement.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Database work done on behalf of one HTTP request
+ * Bound to the thread handling the request, and carried over to the async executor
+ * for streaming responses, so Hibernate callbacks can attribute work to the endpoint
+ */
+public final class RequestMetrics {
+    
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+    
+    // Adders, since a streaming response may touch the same request from two threads
+    final LongAdder statements = new LongAdder();
+    final LongAdder entityLoads = new LongAdder();
+    final LongAdder flushes = new LongAdder();
+    final LongAdder connectionWaitNanos = new LongAdder();
+    final LongAdder connectionUsageNanos = new LongAdder();
+    
+    /**
+     * The request bound to this thread, or null outside request handling
+     */
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+    
+    static void bind(RequestMetrics metrics) {
+        CURRENT.set(metrics);
+    }
+    
+    static void unbind() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Run the task with the caller's request bound, for work handed to another thread
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(metrics);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+    
+    /**
+     * Count one entity hydrated from a result set
+     */
+    public static void recordEntityLoad() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.entityLoads.increment();
+        }
+    }
+}
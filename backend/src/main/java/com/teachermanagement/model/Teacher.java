@@ -1,19 +1,33 @@
 package com.teachermanagement.model;
 
+import com.teachermanagement.metrics.EntityLoadListener;
+import com.teachermanagement.sync.TeacherChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
 
 /**
  * Teacher entity representing the teacher record in the database
+ * The composite indexes serve the filters: each leads with one filter column and
+ * carries the other, so a range on either column, alone or with the other, is an index scan.
+ * change_version is stamped on every write, and indexed for incremental sync
  */
 @Entity
-@Table(name = "teachers")
+@Table(name = "teachers", indexes = {
+        @Index(name = "idx_teachers_classes_dob", columnList = "number_of_classes, date_of_birth"),
+        @Index(name = "idx_teachers_dob_classes", columnList = "date_of_birth, number_of_classes"),
+        @Index(name = "idx_teachers_change_version", columnList = "change_version")
+})
+@EntityListeners({EntityLoadListener.class, TeacherChangeListener.class})
 public class Teacher {
     
+    // A pooled sequence hands out ids in blocks, so inserts need no round trip
+    // per row and Hibernate can batch them (IDENTITY disables insert batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_seq")
+    @SequenceGenerator(name = "teachers_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Full name is required")
@@ -26,11 +40,24 @@ public class Teacher {
     @Column(name = "date_of_birth", nullable = false)
     private LocalDate dateOfBirth;
     
+    @NotNull(message = "Number of classes is required")
     @Min(value = 1, message = "Number of classes must be at least 1")
     @Max(value = 50, message = "Number of classes cannot exceed 50")
     @Column(name = "number_of_classes", nullable = false)
     private Integer numberOfClasses;
     
+    // Nullable only so the column can be added to an existing table; rows are backfilled at startup
+    @Column(name = "change_version")
+    private Long changeVersion;
+    
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+    
+    // Optimistic locking; the default fills the column for rows that predate it
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
     // Default constructor
     public Teacher() {}
     
@@ -82,6 +109,30 @@ public class Teacher {
         this.numberOfClasses = numberOfClasses;
     }
     
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "Teacher{" +
@@ -0,0 +1,60 @@
+package com.teachermanagement.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Record of a deleted teacher, so incremental sync can tell clients to drop the row
+ * Ids come from a sequence and are never reused, so one tombstone per id is enough
+ */
+@Entity
+@Table(name = "teacher_tombstones", indexes = {
+        @Index(name = "idx_teacher_tombstones_change_version", columnList = "change_version")
+})
+public class TeacherTombstone {
+    
+    @Id
+    @Column(name = "teacher_id")
+    private Long teacherId;
+    
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+    
+    // Default constructor
+    public TeacherTombstone() {}
+    
+    // Constructor with parameters
+    public TeacherTombstone(Long teacherId, Long changeVersion, Instant deletedAt) {
+        this.teacherId = teacherId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters and Setters
+    public Long getTeacherId() {
+        return teacherId;
+    }
+    
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+    
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.teachermanagement.repository;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherField;
+import com.teachermanagement.model.Teacher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment for filters built at runtime from Specifications
+ */
+public interface TeacherFilterRepository {
+    
+    /**
+     * Teachers matching the specification, read straight into TeacherDTO, in id order
+     */
+    List<TeacherDTO> findDTOs(Specification<Teacher> specification, Limit limit);
+    
+    /**
+     * Teachers matching the specification, selecting only the columns behind the given fields, in id order
+     * Fields that were not asked for are left null, and age is only computed when it was asked for
+     */
+    List<TeacherDTO> findDTOs(Specification<Teacher> specification, Set<TeacherField> fields, Limit limit);
+}
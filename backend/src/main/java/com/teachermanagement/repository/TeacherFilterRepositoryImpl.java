@@ -0,0 +1,127 @@
+package com.teachermanagement.repository;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherField;
+import com.teachermanagement.model.Teacher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria API implementation of TeacherFilterRepository
+ * Selects with a constructor expression, like the JPQL reads in TeacherRepository,
+ * so filtering never loads entities. Sparse reads select a tuple of just the requested columns
+ */
+public class TeacherFilterRepositoryImpl implements TeacherFilterRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<TeacherDTO> findDTOs(Specification<Teacher> specification, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TeacherDTO> query = cb.createQuery(TeacherDTO.class);
+        Root<Teacher> teacher = query.from(Teacher.class);
+        query.select(cb.construct(TeacherDTO.class,
+                teacher.get("id"),
+                teacher.get("fullName"),
+                teacher.get("dateOfBirth"),
+                teacher.get("numberOfClasses")));
+        
+        Predicate predicate = specification != null ? specification.toPredicate(teacher, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(teacher.get("id")));
+        
+        TypedQuery<TeacherDTO> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+    
+    @Override
+    public List<TeacherDTO> findDTOs(Specification<Teacher> specification, Set<TeacherField> fields, Limit limit) {
+        if (fields.containsAll(TeacherField.ALL)) {
+            return findDTOs(specification, limit);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Teacher> teacher = query.from(Teacher.class);
+        
+        // Age is derived from the date of birth, so asking for it alone still reads that column
+        boolean readsDateOfBirth = fields.contains(TeacherField.DATE_OF_BIRTH) || fields.contains(TeacherField.AGE);
+        Path<Long> id = teacher.get("id");
+        Path<String> fullName = fields.contains(TeacherField.FULL_NAME) ? teacher.get("fullName") : null;
+        Path<LocalDate> dateOfBirth = readsDateOfBirth ? teacher.get("dateOfBirth") : null;
+        Path<Integer> numberOfClasses = fields.contains(TeacherField.NUMBER_OF_CLASSES)
+                ? teacher.get("numberOfClasses") : null;
+        
+        List<Selection<?>> selections = new ArrayList<>(4);
+        selections.add(id);
+        if (fullName != null) {
+            selections.add(fullName);
+        }
+        if (dateOfBirth != null) {
+            selections.add(dateOfBirth);
+        }
+        if (numberOfClasses != null) {
+            selections.add(numberOfClasses);
+        }
+        query.multiselect(selections);
+        
+        Predicate predicate = specification != null ? specification.toPredicate(teacher, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(id));
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        
+        boolean withAge = fields.contains(TeacherField.AGE);
+        boolean withDateOfBirth = fields.contains(TeacherField.DATE_OF_BIRTH);
+        LocalDate today = LocalDate.now();
+        List<Tuple> rows = typedQuery.getResultList();
+        List<TeacherDTO> teachers = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            TeacherDTO dto = new TeacherDTO();
+            dto.setId(row.get(id));
+            if (fullName != null) {
+                dto.setFullName(row.get(fullName));
+            }
+            if (numberOfClasses != null) {
+                dto.setNumberOfClasses(row.get(numberOfClasses));
+            }
+            if (dateOfBirth != null) {
+                LocalDate born = row.get(dateOfBirth);
+                if (withDateOfBirth) {
+                    dto.setDateOfBirth(born);
+                }
+                if (withAge && born != null) {
+                    dto.setAge(Period.between(born, today).getYears());
+                }
+            }
+            teachers.add(dto);
+        }
+        return teachers;
+    }
+}
@@ -1,54 +1,113 @@
 package com.teachermanagement.repository;
 
+import com.teachermanagement.dto.TeacherDTO;
 import com.teachermanagement.model.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Teacher entity
  * Provides database operations for teachers
+ * Read queries select straight into TeacherDTO, so no entities are loaded,
+ * snapshotted for dirty checking or copied; writes still go through Teacher
  */
 @Repository
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, TeacherFilterRepository,
+        TeacherWriteRepository {
     
     /**
-     * Find teachers by full name containing the search term (case-insensitive)
+     * JPQL constructor expression for reading a teacher row into a TeacherDTO
      */
-    List<Teacher> findByFullNameContainingIgnoreCase(String fullName);
+    String AS_DTO = "new com.teachermanagement.dto.TeacherDTO(t.id, t.fullName, t.dateOfBirth, t.numberOfClasses)";
     
     /**
-     * Find teachers by number of classes
+     * Stream every teacher in id order off a server-side cursor.
+     * Must be consumed inside a transaction and closed by the caller
      */
-    List<Teacher> findByNumberOfClasses(Integer numberOfClasses);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + AS_DTO + " FROM Teacher t ORDER BY t.id ASC")
+    Stream<TeacherDTO> streamAllByOrderByIdAsc();
     
     /**
-     * Find teachers by number of classes between min and max values
+     * One teacher by id, as a [TeacherDTO, version] row
      */
-    List<Teacher> findByNumberOfClassesBetween(Integer minClasses, Integer maxClasses);
+    @Query("SELECT " + AS_DTO + ", t.version FROM Teacher t WHERE t.id = :id")
+    List<Object[]> findDTOAndVersionById(@Param("id") Long id);
     
     /**
-     * Find teachers by date of birth between two dates (for age filtering)
+     * One teacher by id, with its row version
+     */
+    default Optional<TeacherDTO> findDTOById(Long id) {
+        return findDTOAndVersionById(id).stream().findFirst().map(row -> {
+            TeacherDTO teacher = (TeacherDTO) row[0];
+            teacher.setVersion((Long) row[1]);
+            return teacher;
+        });
+    }
+    
+    /**
+     * Teachers with the given ids, in id order
+     */
+    @Query("SELECT " + AS_DTO + " FROM Teacher t WHERE t.id IN :ids ORDER BY t.id ASC")
+    List<TeacherDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Keyset page: teachers with an id greater than the cursor, in id order
+     */
+    @Query("SELECT " + AS_DTO + " FROM Teacher t WHERE t.id > :afterId ORDER BY t.id ASC")
+    List<TeacherDTO> findByIdGreaterThanOrderByIdAsc(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Keyset page of teachers whose lowercased name matches a LIKE pattern, with a backslash as the escape character
+     * The lower(full_name) LIKE predicate lets Postgres use the pg_trgm index
+     */
+    @Query("SELECT " + AS_DTO + " FROM Teacher t WHERE LOWER(t.fullName) LIKE :pattern ESCAPE '\\' " +
+           "AND t.id > :afterId ORDER BY t.id ASC")
+    List<TeacherDTO> searchByLowerNamePattern(
+            @Param("pattern") String pattern,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+    
+    /**
+     * Teachers created or updated after a change version, up to upTo, in version order, as [changeVersion, TeacherDTO] rows
      */
-    List<Teacher> findByDateOfBirthBetween(LocalDate startDate, LocalDate endDate);
+    @Query("SELECT t.changeVersion, " + AS_DTO + " FROM Teacher t " +
+           "WHERE t.changeVersion > :since AND t.changeVersion <= :upTo ORDER BY t.changeVersion ASC")
+    List<Object[]> findChangedSince(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
     
     /**
-     * Custom query to filter teachers by multiple criteria
+     * All teacher ids and names, as [id, fullName] rows
      */
-    @Query("SELECT t FROM Teacher t WHERE " +
-           "(:searchTerm IS NULL OR LOWER(t.fullName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-           "(:minClasses IS NULL OR t.numberOfClasses >= :minClasses) AND " +
-           "(:maxClasses IS NULL OR t.numberOfClasses <= :maxClasses) AND " +
-           "(:startDate IS NULL OR t.dateOfBirth >= :startDate) AND " +
-           "(:endDate IS NULL OR t.dateOfBirth <= :endDate)")
-    List<Teacher> findTeachersByCriteria(
-            @Param("searchTerm") String searchTerm,
+    @Query("SELECT t.id, t.fullName FROM Teacher t")
+    List<Object[]> findAllIdsAndNames();
+    
+    /**
+     * Find teachers by number of classes between min and max values
+     */
+    @Query("SELECT " + AS_DTO + " FROM Teacher t WHERE t.numberOfClasses BETWEEN :minClasses AND :maxClasses")
+    List<TeacherDTO> findByNumberOfClassesBetween(
             @Param("minClasses") Integer minClasses,
-            @Param("maxClasses") Integer maxClasses,
+            @Param("maxClasses") Integer maxClasses
+    );
+    
+    /**
+     * Find teachers by date of birth between two dates (for age filtering)
+     */
+    @Query("SELECT " + AS_DTO + " FROM Teacher t WHERE t.dateOfBirth BETWEEN :startDate AND :endDate")
+    List<TeacherDTO> findByDateOfBirthBetween(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
@@ -59,6 +118,18 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     @Query("SELECT AVG(t.numberOfClasses) FROM Teacher t")
     Double findAverageNumberOfClasses();
     
+    /**
+     * Count teachers per number of classes, as [numberOfClasses, count] rows
+     */
+    @Query("SELECT t.numberOfClasses, COUNT(t) FROM Teacher t GROUP BY t.numberOfClasses")
+    List<Object[]> countByNumberOfClasses();
+    
+    /**
+     * Count teachers per date of birth, as [dateOfBirth, count] rows
+     */
+    @Query("SELECT t.dateOfBirth, COUNT(t) FROM Teacher t GROUP BY t.dateOfBirth")
+    List<Object[]> countByDateOfBirth();
+    
     /**
      * Count total number of teachers
      */
@@ -0,0 +1,88 @@
+package com.teachermanagement.repository;
+
+import com.teachermanagement.model.Teacher;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Predicates for filtering teachers
+ * Each factory returns null when its value is missing, and Specification.and
+ * skips nulls, so a composed filter only emits the clauses actually requested.
+ * That keeps each statement specific enough for the database to pick an index
+ */
+public final class TeacherSpecifications {
+    
+    private TeacherSpecifications() {}
+    
+    /**
+     * Teachers with an id greater than the keyset cursor
+     */
+    public static Specification<Teacher> idAfter(Long afterId) {
+        if (afterId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+    
+    /**
+     * Teachers with one of the given ids
+     */
+    public static Specification<Teacher> idIn(Collection<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+    
+    /**
+     * Teachers whose lowercased name matches a LIKE pattern, with a backslash as the escape character
+     */
+    public static Specification<Teacher> lowerNameLike(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(cb.lower(root.get("fullName")), pattern, '\\');
+    }
+    
+    /**
+     * Teachers with at least this many classes
+     */
+    public static Specification<Teacher> minClasses(Integer minClasses) {
+        if (minClasses == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("numberOfClasses"), minClasses);
+    }
+    
+    /**
+     * Teachers with at most this many classes
+     */
+    public static Specification<Teacher> maxClasses(Integer maxClasses) {
+        if (maxClasses == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("numberOfClasses"), maxClasses);
+    }
+    
+    /**
+     * Teachers born on or after this date
+     */
+    public static Specification<Teacher> bornOnOrAfter(LocalDate startDate) {
+        if (startDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateOfBirth"), startDate);
+    }
+    
+    /**
+     * Teachers born on or before this date
+     */
+    public static Specification<Teacher> bornOnOrBefore(LocalDate endDate) {
+        if (endDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateOfBirth"), endDate);
+    }
+}
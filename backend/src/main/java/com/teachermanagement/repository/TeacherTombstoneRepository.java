@@ -0,0 +1,24 @@
+package com.teachermanagement.repository;
+
+import com.teachermanagement.model.TeacherTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for TeacherTombstone entity
+ */
+@Repository
+public interface TeacherTombstoneRepository extends JpaRepository<TeacherTombstone, Long> {
+    
+    /**
+     * Tombstones written after a change version, up to upTo, in version order, as [changeVersion, teacherId] rows
+     */
+    @Query("SELECT t.changeVersion, t.teacherId FROM TeacherTombstone t " +
+           "WHERE t.changeVersion > :since AND t.changeVersion <= :upTo ORDER BY t.changeVersion ASC")
+    List<Object[]> findChangedSince(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+}
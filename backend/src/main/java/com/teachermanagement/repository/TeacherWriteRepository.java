@@ -0,0 +1,26 @@
+package com.teachermanagement.repository;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherRevision;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for writes that take a single statement, and so a single round trip
+ */
+public interface TeacherWriteRepository {
+    
+    /**
+     * Set the non-null fields of changes on one teacher, bump its version and stamp a new change version
+     * With expectedVersion set, only a row still at that version is changed.
+     * Empty when no row matched
+     */
+    Optional<TeacherRevision> patch(Long id, TeacherDTO changes, Long expectedVersion);
+    
+    /**
+     * Delete one teacher and write its tombstone, stamped with a new change version
+     * With expectedVersion set, only a row still at that version is deleted.
+     * Returns the deleted teacher, or empty when no row matched
+     */
+    Optional<TeacherDTO> deleteReturning(Long id, Long expectedVersion);
+}
@@ -0,0 +1,177 @@
+package com.teachermanagement.repository;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherRevision;
+import com.teachermanagement.model.Teacher;
+import com.teachermanagement.model.TeacherTombstone;
+import com.teachermanagement.sync.ChangeVersionSequence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PostgreSQL implementation of TeacherWriteRepository, with a JPA path for other databases
+ * RETURNING hands back the row with the statement, so there is no read before the write,
+ * and a version check in the WHERE clause makes the write conditional in the same statement.
+ * The change version is taken by the statement itself, after its transaction has an id,
+ * as ChangeVersionSequence.visibleHorizon requires.
+ * The before image of an update comes from a self-join that locks the row first, so after a wait
+ * on a concurrent write it is the version this update replaces, not the statement snapshot's.
+ * UPDATE ... FROM and writable CTEs are PostgreSQL only, so elsewhere, e.g. H2 in the load test,
+ * the row is read with a write lock, checked and written through the entity in one transaction
+ */
+public class TeacherWriteRepositoryImpl implements TeacherWriteRepository {
+    
+    // Joining the materialized tx row assigns the transaction id before nextval runs
+    private static final String PATCH =
+            "WITH tx AS MATERIALIZED (SELECT pg_current_xact_id()) " +
+            "UPDATE teachers t SET " +
+            "full_name = COALESCE(?, t.full_name), " +
+            "date_of_birth = COALESCE(?, t.date_of_birth), " +
+            "number_of_classes = COALESCE(?, t.number_of_classes), " +
+            "version = t.version + 1, change_version = nextval('" + ChangeVersionSequence.SEQUENCE + "'), " +
+            "updated_at = ? " +
+            "FROM (SELECT id, full_name, date_of_birth, number_of_classes FROM teachers " +
+            "WHERE id = ? FOR UPDATE) old, tx " +
+            "WHERE old.id = t.id AND t.id = ? AND (? OR t.version = ?) " +
+            "RETURNING old.full_name, old.date_of_birth, old.number_of_classes, " +
+            "t.full_name, t.date_of_birth, t.number_of_classes, t.version";
+    
+    // Data-modifying CTEs run as one statement, so the tombstone commits with the delete
+    private static final String DELETE =
+            "WITH tx AS MATERIALIZED (SELECT pg_current_xact_id()), " +
+            "gone AS (DELETE FROM teachers WHERE id = ? AND (? OR version = ?) " +
+            "RETURNING id, full_name, date_of_birth, number_of_classes), " +
+            "tombstone AS (INSERT INTO teacher_tombstones (teacher_id, change_version, deleted_at) " +
+            "SELECT id, nextval('" + ChangeVersionSequence.SEQUENCE + "'), ? FROM gone, tx) " +
+            "SELECT full_name, date_of_birth, number_of_classes FROM gone";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DatabasePlatform platform;
+    
+    @Autowired
+    private ChangeVersionSequence changeVersions;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Optional<TeacherRevision> patch(Long id, TeacherDTO changes, Long expectedVersion) {
+        if (!platform.isPostgres()) {
+            return patchEntity(id, changes, expectedVersion);
+        }
+        changeVersions.ensureSequence();
+        List<TeacherRevision> rows = jdbcTemplate.query(PATCH, (rs, rowNum) -> new TeacherRevision(
+                        teacher(id, rs, 1, null),
+                        teacher(id, rs, 4, rs.getLong(7))),
+                // Typed, so a null does not make the driver ask the server for parameter types first
+                new SqlParameterValue(Types.VARCHAR, changes.getFullName()),
+                new SqlParameterValue(Types.DATE,
+                        changes.getDateOfBirth() != null ? Date.valueOf(changes.getDateOfBirth()) : null),
+                new SqlParameterValue(Types.INTEGER, changes.getNumberOfClasses()),
+                Timestamp.from(Instant.now()),
+                id,
+                id,
+                expectedVersion == null,
+                expectedVersion != null ? expectedVersion : 0L);
+        return rows.stream().findFirst();
+    }
+    
+    @Override
+    public Optional<TeacherDTO> deleteReturning(Long id, Long expectedVersion) {
+        if (!platform.isPostgres()) {
+            return deleteEntity(id, expectedVersion);
+        }
+        changeVersions.ensureSequence();
+        List<TeacherDTO> rows = jdbcTemplate.query(DELETE, (rs, rowNum) -> teacher(id, rs, 1, null),
+                id,
+                expectedVersion == null,
+                expectedVersion != null ? expectedVersion : 0L,
+                Timestamp.from(Instant.now()));
+        return rows.stream().findFirst();
+    }
+    
+    // TeacherChangeListener stamps the change version and time, and the flush bumps the row version
+    private Optional<TeacherRevision> patchEntity(Long id, TeacherDTO changes, Long expectedVersion) {
+        return transactionTemplate.execute(status -> {
+            Teacher teacher = lockedTeacher(id, expectedVersion);
+            if (teacher == null) {
+                return Optional.empty();
+            }
+            TeacherDTO before = teacher(teacher);
+            before.setVersion(null);
+            if (changes.getFullName() != null) {
+                teacher.setFullName(changes.getFullName());
+            }
+            if (changes.getDateOfBirth() != null) {
+                teacher.setDateOfBirth(changes.getDateOfBirth());
+            }
+            if (changes.getNumberOfClasses() != null) {
+                teacher.setNumberOfClasses(changes.getNumberOfClasses());
+            }
+            // An update that changes nothing still counts as a write, like the UPDATE statement
+            teacher.setUpdatedAt(Instant.now());
+            entityManager.flush();
+            return Optional.of(new TeacherRevision(before, teacher(teacher)));
+        });
+    }
+    
+    private Optional<TeacherDTO> deleteEntity(Long id, Long expectedVersion) {
+        return transactionTemplate.execute(status -> {
+            Teacher teacher = lockedTeacher(id, expectedVersion);
+            if (teacher == null) {
+                return Optional.empty();
+            }
+            TeacherDTO deleted = teacher(teacher);
+            deleted.setVersion(null);
+            entityManager.remove(teacher);
+            entityManager.persist(new TeacherTombstone(id, changeVersions.next(), Instant.now()));
+            entityManager.flush();
+            return Optional.of(deleted);
+        });
+    }
+    
+    // The teacher, locked until commit, or null when it is missing or no longer at expectedVersion
+    private Teacher lockedTeacher(Long id, Long expectedVersion) {
+        Teacher teacher = entityManager.find(Teacher.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (teacher == null || expectedVersion != null && !expectedVersion.equals(teacher.getVersion())) {
+            return null;
+        }
+        return teacher;
+    }
+    
+    private static TeacherDTO teacher(Teacher teacher) {
+        TeacherDTO dto = new TeacherDTO(teacher.getId(), teacher.getFullName(), teacher.getDateOfBirth(),
+                teacher.getNumberOfClasses());
+        dto.setVersion(teacher.getVersion());
+        return dto;
+    }
+    
+    // Reads full_name, date_of_birth and number_of_classes starting at the given column
+    private static TeacherDTO teacher(Long id, ResultSet rs, int column, Long version) throws SQLException {
+        LocalDate dateOfBirth = rs.getObject(column + 1, LocalDate.class);
+        TeacherDTO teacher = new TeacherDTO(id, rs.getString(column), dateOfBirth, rs.getInt(column + 2));
+        teacher.setVersion(version);
+        return teacher;
+    }
+}
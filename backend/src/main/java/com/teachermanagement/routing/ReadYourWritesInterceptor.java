@@ -0,0 +1,68 @@
+package com.teachermanagement.routing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Read-your-writes for the client that made a change
+ * A write answers with an X-Read-Primary-Until header holding the time until which the client's
+ * reads should stay on the primary; requests that echo an unexpired value are pinned to the
+ * primary, whichever instance serves them. A header rather than a cookie, so it also works for
+ * the cross-origin frontend, which does not send credentials
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    
+    public static final String HEADER = "X-Read-Primary-Until";
+    
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    
+    private final long windowMs;
+    
+    public ReadYourWritesInterceptor(long windowMs) {
+        this.windowMs = windowMs;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            response.setHeader(HEADER, Long.toString(now + windowMs));
+            // Writes already use the primary; this covers reads made by the same request
+            ReplicaRoutingDataSource.pinToPrimary();
+        } else if (pinned(request.getHeader(HEADER), now)) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReplicaRoutingDataSource.unpin();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+    }
+    
+    /**
+     * Whether the echoed value is still running; values further out than one window were not
+     * issued here, so a client cannot keep itself on the primary indefinitely
+     */
+    private boolean pinned(String until, long now) {
+        if (until == null) {
+            return false;
+        }
+        try {
+            long value = Long.parseLong(until.trim());
+            return value > now && value <= now + windowMs;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.teachermanagement.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodic check of the read replica: reachable, and replaying within max-lag of the primary
+ * Reads only go to the replica while the last check passed; a failed connection marks it down
+ * at once, without waiting for the next check
+ */
+public class ReplicaHealth {
+    
+    // Null when a standby has no WAL receiver streaming from the primary: it may have replayed all it
+    // received and still be arbitrarily stale. Without pg_read_all_stats the status reads as null,
+    // and a running receiver is all that can be checked. Zero when the replica has replayed all it
+    // received, so an idle primary does not make it look lagged, or when it is not a standby at all,
+    // as with two independent local databases
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver " +
+            "WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxLagMs;
+    private final Counter toReplica;
+    private final Counter toPrimary;
+    
+    // Targets whose first switch has been logged; a flapping replica is followed through the counters
+    private final Set<String> logged = ConcurrentHashMap.newKeySet();
+    
+    private volatile boolean healthy;
+    private volatile double lagMs = Double.NaN;
+    
+    public ReplicaHealth(DataSource replica, long maxLagMs, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("teacher.replica.healthy", this, health -> health.healthy ? 1 : 0).register(meterRegistry);
+        Gauge.builder("teacher.replica.lag", this, health -> health.lagMs)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.toReplica = Counter.builder("teacher.replica.switches").tag("target", "replica").register(meterRegistry);
+        this.toPrimary = Counter.builder("teacher.replica.switches").tag("target", "primary").register(meterRegistry);
+    }
+    
+    public boolean isHealthy() {
+        return healthy;
+    }
+    
+    @Scheduled(fixedDelayString = "${teacher.datasource.replica.health-check-interval-ms:5000}")
+    public void check() {
+        try {
+            Double lag = jdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagMs = lag != null ? lag : Double.NaN;
+            if (lag == null) {
+                update(false, "replica is not receiving WAL from the primary");
+            } else if (lagMs > maxLagMs) {
+                update(false, "replica is " + Math.round(lagMs) + " ms behind the primary");
+            } else {
+                update(true, "replica is available");
+            }
+        } catch (Exception e) {
+            lagMs = Double.NaN;
+            update(false, "replica check failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Take the replica out of rotation until the next check passes
+     */
+    void markDown(Exception cause) {
+        update(false, "replica connection failed: " + cause.getMessage());
+    }
+    
+    private void update(boolean nowHealthy, String reason) {
+        if (healthy != nowHealthy) {
+            String target = nowHealthy ? "replica" : "primary";
+            (nowHealthy ? toReplica : toPrimary).increment();
+            if (logged.add(target)) {
+                System.out.println("Routing reads to the " + target + ": " + reason +
+                        "; later switches are counted in teacher.replica.switches");
+            }
+        }
+        healthy = nowHealthy;
+    }
+}
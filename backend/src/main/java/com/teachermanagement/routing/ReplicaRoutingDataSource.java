@@ -0,0 +1,121 @@
+package com.teachermanagement.routing;
+
+import com.teachermanagement.service.TeacherDataVersion;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the primary
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+ * before the transaction is marked read-only, so the choice has to wait for the first statement.
+ * Reads stay on the primary when the replica is unhealthy, when the request is pinned for
+ * read-your-writes, and for max-lag-ms after any write through this instance, so caches keyed
+ * on TeacherDataVersion are never filled from a replica that has not yet seen the change
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final ReplicaHealth health;
+    private final TeacherDataVersion dataVersion;
+    private final long maxLagMs;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica, ReplicaHealth health,
+                                    TeacherDataVersion dataVersion, long maxLagMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.health = health;
+        this.dataVersion = dataVersion;
+        this.maxLagMs = maxLagMs;
+        this.replicaReads = Counter.builder("teacher.replica.reads").tag("target", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("teacher.replica.reads").tag("target", "primary").register(meterRegistry);
+    }
+    
+    public ReplicaHealth getHealth() {
+        return health;
+    }
+    
+    /**
+     * Keep read-only work on the current thread on the primary until unpin
+     */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+    
+    public static void unpin() {
+        PINNED.remove();
+    }
+    
+    /**
+     * Run work with its reads on the primary, leaving an existing pin in place afterwards
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean pinned = PINNED.get() != null;
+        PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (!pinned) {
+                PINNED.remove();
+            }
+        }
+    }
+    
+    /**
+     * Carry the current pin over to a task run on another thread, such as a streaming response body
+     */
+    public static Runnable propagate(Runnable task) {
+        if (PINNED.get() == null) {
+            return task;
+        }
+        return () -> {
+            PINNED.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                PINNED.remove();
+            }
+        };
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        if (PINNED.get() == null && health.isHealthy() && dataVersion.millisSinceChange() >= maxLagMs) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                health.markDown(e);
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials come from the primary and replica pools");
+    }
+    
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,197 @@
+package com.teachermanagement.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index for case-insensitive substring search
+ * Each trigram of a lowercased name maps to a sorted array of teacher IDs.
+ * A query intersects the postings of its trigrams, smallest first, and
+ * checks each candidate against the stored name, so cost follows the
+ * rarest trigram rather than the number of teachers
+ */
+public class NgramIndex {
+    
+    private static final int N = 3;
+    
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * Shortest term the index can answer; shorter terms need another search path
+     */
+    public static int minimumTermLength() {
+        return N;
+    }
+    
+    /**
+     * Add or replace the name indexed for a teacher
+     */
+    public void put(long id, String fullName) {
+        String normalized = normalize(fullName);
+        lock.writeLock().lock();
+        try {
+            String previous = names.put(id, normalized);
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    removePosting(gram, id);
+                }
+            }
+            for (long gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove a teacher from the index
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = names.remove(id);
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    removePosting(gram, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * IDs greater than afterId whose name contains the term, in ascending order
+     * The term must be at least minimumTermLength() characters long
+     */
+    public List<Long> search(String term, long afterId, int limit) {
+        String normalized = normalize(term);
+        Set<Long> termGrams = grams(normalized);
+        if (termGrams.isEmpty()) {
+            throw new IllegalArgumentException("Search term shorter than " + N + " characters");
+        }
+        
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[termGrams.size()];
+            int i = 0;
+            for (long gram : termGrams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            
+            // Walk the rarest posting list and probe the others
+            List<Long> result = new ArrayList<>();
+            Postings smallest = lists[0];
+            for (int p = smallest.firstAfter(afterId); p < smallest.size && result.size() < limit; p++) {
+                long id = smallest.ids[p];
+                if (inAll(lists, id) && names.get(id).contains(normalized)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of indexed teachers
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static boolean inAll(Postings[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void removePosting(long gram, long id) {
+        Postings list = postings.get(gram);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(gram);
+        }
+    }
+    
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Distinct trigrams of a string, each packed into a long (16 bits per char)
+     */
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+    
+    /**
+     * Sorted, growable array of teacher IDs
+     */
+    private static final class Postings {
+        long[] ids = new long[4];
+        int size = 0;
+        
+        void add(long id) {
+            // IDs usually arrive in increasing order, so this is normally an append
+            int pos = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0 && pos < size) {
+                return;
+            }
+            int insertAt = pos >= 0 ? pos : -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+        
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+        
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+        
+        int firstAfter(long afterId) {
+            int pos = Arrays.binarySearch(ids, 0, size, afterId);
+            return pos >= 0 ? pos + 1 : -pos - 1;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.teachermanagement.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix trie over normalized name tokens for autocomplete
+ * Names are lowercased, stripped of accents and split into words; every word
+ * is a path in the trie whose end node holds a sorted array of teacher IDs.
+ * Children are kept in character order, so a lookup walks the prefix and
+ * then collects IDs depth-first until it has enough, touching only a few nodes
+ */
+public class PrefixTrie {
+    
+    // Upper bound on candidates checked against earlier words of a multi-word prefix
+    private static final int MAX_CANDIDATES = 10000;
+    
+    private final Node root = new Node();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, List<String>> tokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * Add or replace the name indexed for a teacher
+     */
+    public void put(long id, String fullName) {
+        lock.writeLock().lock();
+        try {
+            names.put(id, fullName);
+            // Repeats are kept, so "an an" can match a name with the word twice
+            List<String> nameTokens = words(fullName);
+            List<String> previous = tokens.put(id, nameTokens);
+            if (previous != null) {
+                for (String token : previous) {
+                    removeToken(token, id);
+                }
+            }
+            for (String token : nameTokens) {
+                Node node = root;
+                for (int i = 0; i < token.length(); i++) {
+                    node = node.childOrCreate(token.charAt(i));
+                }
+                node.addId(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove a teacher from the trie
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            names.remove(id);
+            List<String> previous = tokens.remove(id);
+            if (previous != null) {
+                for (String token : previous) {
+                    removeToken(token, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Up to limit teachers with a word starting with the last word of the prefix
+     * Earlier words of the prefix must each start another word of the name, one word each,
+     * so "jo jo" finds "John Jones" but not "John"
+     * Returns [id, fullName] pairs, ordered by the matching word
+     */
+    public List<Map.Entry<Long, String>> suggest(String prefix, int limit) {
+        List<String> words = words(prefix);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String last = words.get(words.size() - 1);
+        List<String> earlier = words.subList(0, words.size() - 1);
+        
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < last.length() && node != null; i++) {
+                node = node.child(last.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            
+            Set<Long> ids = new LinkedHashSet<>();
+            collect(node, new StringBuilder(last), earlier, ids, limit, new int[1]);
+            
+            List<Map.Entry<Long, String>> result = new ArrayList<>(ids.size());
+            for (long id : ids) {
+                result.add(Map.entry(id, names.get(id)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // token is the word spelled by the path to node, which the last word of the prefix matched
+    private void collect(Node node, StringBuilder token, List<String> earlier, Set<Long> ids, int limit,
+                         int[] scanned) {
+        for (int i = 0; i < node.idCount && ids.size() < limit && scanned[0] < MAX_CANDIDATES; i++) {
+            long id = node.ids[i];
+            scanned[0]++;
+            if (earlier.isEmpty() || matchesRest(tokens.get(id), token.toString(), earlier)) {
+                ids.add(id);
+            }
+        }
+        for (int c = 0; c < node.childCount && ids.size() < limit && scanned[0] < MAX_CANDIDATES; c++) {
+            token.append(node.keys[c]);
+            collect(node.children[c], token, earlier, ids, limit, scanned);
+            token.setLength(token.length() - 1);
+        }
+    }
+    
+    /**
+     * Whether the earlier words can each start a different word of the name, leaving out the one
+     * the last word matched
+     */
+    private static boolean matchesRest(List<String> nameTokens, String matched, List<String> words) {
+        List<String> rest = new ArrayList<>(nameTokens);
+        rest.remove(matched);
+        return assign(rest, words, 0, new boolean[rest.size()]);
+    }
+    
+    // Names and prefixes have a handful of words, so trying every assignment is cheap
+    private static boolean assign(List<String> nameTokens, List<String> words, int next, boolean[] used) {
+        if (next == words.size()) {
+            return true;
+        }
+        for (int i = 0; i < nameTokens.size(); i++) {
+            if (!used[i] && nameTokens.get(i).startsWith(words.get(next))) {
+                used[i] = true;
+                if (assign(nameTokens, words, next + 1, used)) {
+                    return true;
+                }
+                used[i] = false;
+            }
+        }
+        return false;
+    }
+    
+    private void removeToken(String token, long id) {
+        Node[] path = new Node[token.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < token.length(); i++) {
+            path[i + 1] = path[i].child(token.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        path[token.length()].removeId(id);
+        
+        // Prune nodes left without IDs or children
+        for (int i = token.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(token.charAt(i - 1));
+        }
+    }
+    
+    /**
+     * Lowercase, strip accents and split into words, keeping repeats
+     */
+    static List<String> words(String text) {
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+    
+    /**
+     * Trie node with sorted child labels and a sorted array of teacher IDs
+     */
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        int childCount = 0;
+        long[] ids = new long[0];
+        int idCount = 0;
+        
+        Node child(char key) {
+            int pos = Arrays.binarySearch(keys, 0, childCount, key);
+            return pos >= 0 ? children[pos] : null;
+        }
+        
+        Node childOrCreate(char key) {
+            int pos = Arrays.binarySearch(keys, 0, childCount, key);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            int insertAt = -pos - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node node = new Node();
+            keys[insertAt] = key;
+            children[insertAt] = node;
+            childCount++;
+            return node;
+        }
+        
+        void removeChild(char key) {
+            int pos = Arrays.binarySearch(keys, 0, childCount, key);
+            if (pos >= 0) {
+                System.arraycopy(keys, pos + 1, keys, pos, childCount - pos - 1);
+                System.arraycopy(children, pos + 1, children, pos, childCount - pos - 1);
+                childCount--;
+                children[childCount] = null;
+            }
+        }
+        
+        void addId(long id) {
+            int pos = Arrays.binarySearch(ids, 0, idCount, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(1, idCount * 2));
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, idCount - insertAt);
+            ids[insertAt] = id;
+            idCount++;
+        }
+        
+        void removeId(long id) {
+            int pos = Arrays.binarySearch(ids, 0, idCount, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, idCount - pos - 1);
+                idCount--;
+            }
+        }
+        
+        boolean isEmpty() {
+            return idCount == 0 && childCount == 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.teachermanagement.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes passed through to the wrapped stream
+ * Export metrics use it for the rendered size; the benchmarks wrap a null stream to size their output
+ */
+public class CountingOutputStream extends FilterOutputStream {
+    
+    private long count;
+    
+    public CountingOutputStream(OutputStream out) {
+        super(out);
+    }
+    
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+    
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count += len;
+    }
+    
+    /**
+     * Bytes written so far
+     */
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,95 @@
+package com.teachermanagement.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader for imports
+ * Reads through a fixed-size buffer, so memory does not grow with the file;
+ * quoted cells may contain commas, doubled quotes and line breaks
+ */
+public class CsvImportReader implements ImportRowSource {
+    
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private int position = 0;
+    private int length = 0;
+    
+    public CsvImportReader(InputStream in) {
+        this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public void forEachRow(RowHandler handler) throws IOException, InterruptedException {
+        long rowNumber = 0;
+        List<String> cells;
+        while ((cells = nextRow()) != null) {
+            rowNumber++;
+            // Drop the byte order mark spreadsheet tools put at the start of UTF-8 files
+            if (rowNumber == 1 && !cells.isEmpty() && cells.get(0).startsWith("\uFEFF")) {
+                cells.set(0, cells.get(0).substring(1));
+            }
+            handler.row(rowNumber, cells);
+        }
+    }
+    
+    /**
+     * Next record, or null at the end of the input
+     */
+    private List<String> nextRow() throws IOException {
+        if (!fill()) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (!fill()) {
+                cells.add(cell.toString());
+                return cells;
+            }
+            char c = buffer[position++];
+            if (quoted) {
+                if (c != '"') {
+                    cell.append(c);
+                } else if (peek() == '"') {
+                    cell.append('"');
+                    position++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    position++;
+                }
+                cells.add(cell.toString());
+                return cells;
+            } else {
+                cell.append(c);
+            }
+        }
+    }
+    
+    private int peek() throws IOException {
+        return fill() ? buffer[position] : -1;
+    }
+    
+    private boolean fill() throws IOException {
+        if (position < length) {
+            return true;
+        }
+        length = reader.read(buffer);
+        position = 0;
+        return length > 0;
+    }
+}
@@ -0,0 +1,113 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.TeacherDTO;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streaming Excel writer for teacher exports
+ * Keeps only a small window of rows in memory, estimates column widths from
+ * the values it has already written and gathers the statistics in the same pass
+ */
+public class ExcelExportWriter implements Closeable {
+    
+    private static final String[] HEADERS = {"ID", "Full Name", "Age", "Date of Birth", "Number of Classes"};
+    
+    // Rows kept in memory before older ones are flushed to the temp file
+    private static final int ROW_WINDOW = 100;
+    
+    // Cap for the estimated width of any column, in characters
+    private static final int MAX_COLUMN_CHARS = 60;
+    
+    private final SXSSFWorkbook workbook;
+    private final Sheet sheet;
+    private final int[] columnChars = new int[HEADERS.length];
+    
+    private int rowNum = 1;
+    private long totalClasses = 0;
+    
+    public ExcelExportWriter() {
+        workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        sheet = workbook.createSheet("Teachers");
+        
+        // Create header style
+        CellStyle headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerStyle.setFont(headerFont);
+        
+        // Create header row
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+            columnChars[i] = HEADERS[i].length();
+        }
+    }
+    
+    /**
+     * Append one teacher row
+     */
+    public void writeRow(TeacherDTO teacher) {
+        Row row = sheet.createRow(rowNum++);
+        String dateOfBirth = teacher.getDateOfBirth().toString();
+        
+        row.createCell(0).setCellValue(teacher.getId());
+        row.createCell(1).setCellValue(teacher.getFullName());
+        row.createCell(2).setCellValue(teacher.getAge());
+        row.createCell(3).setCellValue(dateOfBirth);
+        row.createCell(4).setCellValue(teacher.getNumberOfClasses());
+        
+        trackWidth(0, String.valueOf(teacher.getId()).length());
+        trackWidth(1, teacher.getFullName().length());
+        trackWidth(3, dateOfBirth.length());
+        totalClasses += teacher.getNumberOfClasses();
+    }
+    
+    /**
+     * Apply column widths, add the statistics sheet and write the workbook
+     */
+    public void finish(OutputStream out) throws IOException {
+        for (int i = 0; i < HEADERS.length; i++) {
+            sheet.setColumnWidth(i, (Math.min(columnChars[i], MAX_COLUMN_CHARS) + 2) * 256);
+        }
+        
+        int teacherCount = rowNum - 1;
+        Sheet statsSheet = workbook.createSheet("Statistics");
+        Row statsRow1 = statsSheet.createRow(0);
+        statsRow1.createCell(0).setCellValue("Total Teachers:");
+        statsRow1.createCell(1).setCellValue(teacherCount);
+        
+        if (teacherCount > 0) {
+            Row statsRow2 = statsSheet.createRow(1);
+            statsRow2.createCell(0).setCellValue("Average Classes per Teacher:");
+            statsRow2.createCell(1).setCellValue((double) totalClasses / teacherCount);
+        }
+        
+        statsSheet.setColumnWidth(0, 30 * 256);
+        statsSheet.setColumnWidth(1, 12 * 256);
+        
+        workbook.write(out);
+    }
+    
+    /**
+     * Release the temp files backing the flushed rows
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+    
+    private void trackWidth(int column, int chars) {
+        if (chars > columnChars[column]) {
+            columnChars[column] = chars;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.teachermanagement.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streaming XLSX reader for imports, over the first sheet of the workbook
+ * The sheet XML is parsed with SAX, so rows are handed on as they are read
+ * instead of building the workbook in memory. The file must be on disk,
+ * since an XLSX is a zip whose directory sits at the end
+ */
+public class ExcelImportReader implements ImportRowSource {
+    
+    private final Path file;
+    
+    public ExcelImportReader(Path file) {
+        this.file = file;
+    }
+    
+    @Override
+    public void forEachRow(RowHandler handler) throws IOException, InterruptedException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+            
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new RowCollector(handler), new IsoDateFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (HandlerInterrupted e) {
+            throw (InterruptedException) e.getCause();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Gathers the cells of each row, filling gaps left by empty cells
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+        
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+        
+        @Override
+        public void endRow(int rowNum) {
+            try {
+                handler.row(rowNum + 1L, new ArrayList<>(cells));
+            } catch (InterruptedException e) {
+                throw new HandlerInterrupted(e);
+            }
+        }
+        
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue != null ? formattedValue : "");
+        }
+    }
+    
+    /**
+     * Formats date cells as yyyy-MM-dd whatever their display format, so they parse like CSV dates
+     */
+    private static final class IsoDateFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+    
+    /**
+     * Carries an interrupt out through the SAX parser
+     */
+    private static final class HandlerInterrupted extends RuntimeException {
+        HandlerInterrupted(InterruptedException cause) {
+            super(cause);
+        }
+    }
+}
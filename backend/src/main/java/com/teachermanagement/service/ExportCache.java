@@ -0,0 +1,239 @@
+package com.teachermanagement.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Cache of rendered export files keyed by format and teacher data version
+ * Files live in a local directory; total size is bounded and the least
+ * recently used entries are evicted first. Entries for older versions of the
+ * same format are dropped as soon as a newer one is stored. A dropped file that
+ * is still being downloaded is deleted by ExportFileLeases once the download ends.
+ * Misses are single-flight: one request renders a format and version, and the
+ * others that miss while it runs wait for its file instead of rendering again
+ */
+@Service
+public class ExportCache {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    @Autowired
+    private ExportFileLeases leases;
+    
+    @Value("${teacher.export.cache-dir:${java.io.tmpdir}/teacher-export-cache}")
+    private String cacheDirectory;
+    
+    @Value("${teacher.export.cache-max-mb:512}")
+    private long maxMegabytes;
+    
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    // A lock rather than synchronized: put deletes files while holding it, and a
+    // virtual thread blocked inside synchronized would pin its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Renders in progress by key, completed once the file is stored or discarded
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> renders = new ConcurrentHashMap<>();
+    
+    private Path cacheDir;
+    private long totalBytes = 0;
+    
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDir = Paths.get(cacheDirectory);
+        Files.createDirectories(cacheDir);
+        
+        // Versions restart with the application, so old files can never be hit again
+        try (Stream<Path> leftovers = Files.list(cacheDir)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+    }
+    
+    /**
+     * Open the cached file for the format at the given version, if present
+     * The lease keeps the file on disk until it is closed
+     */
+    public Optional<ExportFileLeases.Lease> open(ExportFormat format, long version) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key(format, version));
+            return entry != null ? leases.acquire(entry.file) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Render the export into the output stream and a cache file at the same time
+     * The file is kept only if no write happened while rendering. A request that misses
+     * while the same format and version is rendering waits for that render and copies its file
+     */
+    public void renderThrough(ExportFormat format, long version, OutputStream out) throws IOException {
+        String key = key(format, version);
+        CompletableFuture<Void> render = new CompletableFuture<>();
+        CompletableFuture<Void> running = renders.putIfAbsent(key, render);
+        if (running != null) {
+            running.join();
+            Optional<ExportFileLeases.Lease> cached = open(format, version);
+            if (cached.isEmpty()) {
+                // The render failed or the data moved on, so there is no file to share
+                exportService.export(format, out, () -> {});
+                return;
+            }
+            try (ExportFileLeases.Lease lease = cached.get()) {
+                Files.copy(lease.getFile(), out);
+            }
+            return;
+        }
+        
+        Path file = null;
+        boolean rendered = false;
+        try {
+            file = Files.createTempFile(cacheDir, format.name().toLowerCase() + "-", ".part");
+            try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(file))) {
+                exportService.export(format, new TeeOutputStream(out, fileOut), () -> {});
+                rendered = true;
+            }
+        } finally {
+            try {
+                if (rendered && dataVersion.current() == version) {
+                    put(format, version, file);
+                } else if (file != null) {
+                    deleteQuietly(file);
+                }
+            } finally {
+                // Stored or not, the waiting requests can go ahead
+                renders.remove(key, render);
+                render.complete(null);
+            }
+        }
+    }
+    
+    private void put(ExportFormat format, long version, Path file) throws IOException {
+        lock.lock();
+        try {
+            long size = Files.size(file);
+            long maxBytes = maxMegabytes * 1024 * 1024;
+            if (size > maxBytes) {
+                deleteQuietly(file);
+                return;
+            }
+            
+            // A concurrent render of the same version got here first; its file may be
+            // mid-download, so keep it rather than deleting it under the reader
+            if (entries.containsKey(key(format, version))) {
+                deleteQuietly(file);
+                return;
+            }
+            
+            // Drop stale versions of this format
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next().getValue();
+                if (entry.format == format) {
+                    evict(it, entry);
+                }
+            }
+            
+            // Evict least recently used entries until the new file fits
+            it = entries.entrySet().iterator();
+            while (totalBytes + size > maxBytes && it.hasNext()) {
+                evict(it, it.next().getValue());
+            }
+            
+            entries.put(key(format, version), new Entry(format, file, size));
+            totalBytes += size;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void evict(Iterator<Map.Entry<String, Entry>> it, Entry entry) {
+        it.remove();
+        totalBytes -= entry.size;
+        leases.deleteWhenUnread(entry.file);
+    }
+    
+    private String key(ExportFormat format, long version) {
+        return format.name() + ":" + version;
+    }
+    
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private static final class Entry {
+        final ExportFormat format;
+        final Path file;
+        final long size;
+        
+        Entry(ExportFormat format, Path file, long size) {
+            this.format = format;
+            this.file = file;
+            this.size = size;
+        }
+    }
+    
+    /**
+     * Writes to the response and the cache file; closing only closes the file
+     */
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream primary;
+        private final OutputStream copy;
+        
+        TeeOutputStream(OutputStream primary, OutputStream copy) {
+            this.primary = primary;
+            this.copy = copy;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            primary.write(b);
+            copy.write(b);
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            primary.write(b, off, len);
+            copy.write(b, off, len);
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            primary.flush();
+            copy.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            primary.flush();
+            copy.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.teachermanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks downloads of export files, so a file is never deleted under a reader
+ * The export cache and export jobs call deleteWhenUnread instead of deleting; a file being read
+ * goes once its last lease is released and delete-grace-ms has passed. The grace covers Tomcat
+ * sendfile, which opens the file by name after the handler has returned its lease
+ */
+@Component
+public class ExportFileLeases {
+    
+    @Value("${teacher.export.delete-grace-ms:30000}")
+    private long graceMs;
+    
+    private final Map<Path, Readers> files = new HashMap<>();
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    /**
+     * Start reading a file, or empty when it is already waiting to be deleted
+     */
+    public Optional<Lease> acquire(Path file) {
+        lock.lock();
+        try {
+            Readers readers = files.computeIfAbsent(file, path -> new Readers());
+            if (readers.doomed) {
+                return Optional.empty();
+            }
+            readers.count++;
+            return Optional.of(new Lease(file));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Delete the file now if nobody has read it lately, otherwise once the last reader is done
+     */
+    public void deleteWhenUnread(Path file) {
+        lock.lock();
+        try {
+            Readers readers = files.get(file);
+            if (readers == null) {
+                deleteQuietly(file);
+            } else {
+                readers.doomed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Delete doomed files whose readers are gone, and forget files nobody is reading
+     */
+    @Scheduled(fixedDelayString = "${teacher.export.cleanup-interval-ms:60000}")
+    public void sweep() {
+        long cutoff = System.nanoTime() - graceMs * 1_000_000;
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Path, Readers>> it = files.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Path, Readers> entry = it.next();
+                Readers readers = entry.getValue();
+                if (readers.count == 0 && readers.lastReleased - cutoff <= 0) {
+                    if (readers.doomed) {
+                        deleteQuietly(entry.getKey());
+                    }
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void release(Path file) {
+        lock.lock();
+        try {
+            Readers readers = files.get(file);
+            readers.count--;
+            readers.lastReleased = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private static final class Readers {
+        int count;
+        long lastReleased = System.nanoTime();
+        boolean doomed;
+    }
+    
+    /**
+     * A reader's hold on a file; close once the file has been sent or opened for sending
+     */
+    public final class Lease implements AutoCloseable {
+        
+        private final Path file;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Lease(Path file) {
+            this.file = file;
+        }
+        
+        public Path getFile() {
+            return file;
+        }
+        
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(file);
+            }
+        }
+    }
+}
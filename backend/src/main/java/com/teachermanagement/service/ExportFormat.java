@@ -0,0 +1,33 @@
+package com.teachermanagement.service;
+
+/**
+ * Supported export formats with their response content type and file name
+ */
+public enum ExportFormat {
+    
+    PDF("application/pdf", "teachers.pdf"),
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "teachers.xlsx");
+    
+    private final String contentType;
+    private final String fileName;
+    
+    ExportFormat(String contentType, String fileName) {
+        this.contentType = contentType;
+        this.fileName = fileName;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    /**
+     * Parse a format name such as "pdf" or "excel", ignoring case
+     */
+    public static ExportFormat fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,174 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.ExportJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Service for running exports in the background
+ * Jobs render into a local spool directory on a bounded pool, so request
+ * threads and DB connections are not held while a large file is built
+ */
+@Service
+public class ExportJobService {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private TeacherService teacherService;
+    
+    @Autowired
+    private ExportFileLeases leases;
+    
+    @Value("${teacher.export.spool-dir:${java.io.tmpdir}/teacher-exports}")
+    private String spoolDirectory;
+    
+    @Value("${teacher.export.pool-size:2}")
+    private int poolSize;
+    
+    @Value("${teacher.export.queue-capacity:20}")
+    private int queueCapacity;
+    
+    @Value("${teacher.export.ttl-minutes:30}")
+    private long ttlMinutes;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    
+    private Path spoolDir;
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    public void init() throws IOException {
+        spoolDir = Paths.get(spoolDirectory);
+        Files.createDirectories(spoolDir);
+        
+        // Jobs do not survive a restart, so neither should their files
+        try (Stream<Path> leftovers = Files.list(spoolDir)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+        
+        // Virtual workers free their carrier while waiting on JDBC; pool-size still bounds concurrent jobs
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("export-", 1).factory()
+                : new CustomizableThreadFactory("export-");
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Queue a new export job
+     * @throws RejectedExecutionException when the job queue is full
+     */
+    public ExportJob submit(ExportFormat format) {
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+    
+    /**
+     * Get a job by ID
+     */
+    public Optional<ExportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+    
+    /**
+     * Open a completed job's file for download, or empty once it has expired
+     * The lease keeps the file on disk until it is closed
+     */
+    public Optional<ExportFileLeases.Lease> openFile(ExportJob job) {
+        Path file = job.getFile();
+        return file != null ? leases.acquire(file) : Optional.empty();
+    }
+    
+    /**
+     * Remove finished jobs once they are older than the TTL
+     * Their files go as soon as no download is reading them
+     */
+    @Scheduled(fixedDelayString = "${teacher.export.cleanup-interval-ms:60000}")
+    public void cleanupExpiredJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(ttlMinutes));
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.getFinishedAt();
+            if (finishedAt == null || finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            if (job.getFile() != null) {
+                leases.deleteWhenUnread(job.getFile());
+            }
+            return true;
+        });
+    }
+    
+    private void run(ExportJob job) {
+        job.setStatus(ExportJob.Status.RUNNING);
+        Path partial = spoolDir.resolve(job.getId() + ".part");
+        try {
+            job.setTotalRows(teacherService.getTotalTeachersCount());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                exportService.export(job.getFormat(), out, job::incrementRowsWritten);
+            }
+            
+            // Only expose the file once it is complete
+            Path file = spoolDir.resolve(job.getId() + "-" + job.getFormat().getFileName());
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+            job.setFile(file);
+            job.setStatus(ExportJob.Status.COMPLETED);
+        } catch (Exception e) {
+            e.printStackTrace();
+            deleteQuietly(partial);
+            job.setError(e.getMessage());
+            job.setStatus(ExportJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(Instant.now());
+        }
+    }
+    
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
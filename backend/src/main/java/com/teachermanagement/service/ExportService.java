@@ -1,20 +1,13 @@
 package com.teachermanagement.service;
 
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.teachermanagement.dto.TeacherDTO;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
 
 /**
  * Service for exporting teacher data to PDF and Excel formats
@@ -22,136 +15,77 @@ import java.util.List;
 @Service
 public class ExportService {
     
+    @Autowired
+    private TeacherService teacherService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     /**
-     * Export teachers data to PDF format
+     * Export all teachers in the given format into the output stream
+     * onRow is called after each row is written, for progress reporting
+     * Render time and size are recorded per format as teacher.export.render and teacher.export.bytes
      */
-    public byte[] exportToPDF(List<TeacherDTO> teachers) throws Exception {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        
+    public void export(ExportFormat format, OutputStream out, Runnable onRow) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream(out);
+        String outcome = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
-            
-            // Add title
-            Paragraph title = new Paragraph("Teacher Management System - Teachers Report")
-                    .setFontSize(18)
-                    .setBold()
-                    .setTextAlignment(TextAlignment.CENTER);
-            document.add(title);
-            
-            // Add some space
-            document.add(new Paragraph(" "));
-            
-            // Create table
-            Table table = new Table(new float[]{1, 3, 2, 2, 2});
-            table.setWidth(100);
-            
-            // Add headers
-            table.addHeaderCell(new Cell().add(new Paragraph("ID").setBold()));
-            table.addHeaderCell(new Cell().add(new Paragraph("Full Name").setBold()));
-            table.addHeaderCell(new Cell().add(new Paragraph("Age").setBold()));
-            table.addHeaderCell(new Cell().add(new Paragraph("Date of Birth").setBold()));
-            table.addHeaderCell(new Cell().add(new Paragraph("Number of Classes").setBold()));
-            
-            // Add data rows
-            for (TeacherDTO teacher : teachers) {
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getId()))));
-                table.addCell(new Cell().add(new Paragraph(teacher.getFullName())));
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getAge()))));
-                table.addCell(new Cell().add(new Paragraph(teacher.getDateOfBirth().toString())));
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getNumberOfClasses()))));
-            }
-            
-            document.add(table);
-            
-            // Add statistics
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Total Teachers: " + teachers.size()).setBold());
-            
-            if (!teachers.isEmpty()) {
-                double avgClasses = teachers.stream()
-                        .mapToInt(TeacherDTO::getNumberOfClasses)
-                        .average()
-                        .orElse(0.0);
-                document.add(new Paragraph("Average Classes per Teacher: " + 
-                        String.format("%.2f", avgClasses)).setBold());
+            switch (format) {
+                case PDF -> exportToPDF(counting, onRow);
+                case EXCEL -> exportToExcel(counting, onRow);
             }
-            
-            document.close();
-            
-        } catch (Exception e) {
-            throw new Exception("Error generating PDF: " + e.getMessage(), e);
+            outcome = "success";
+        } finally {
+            String formatTag = format.name().toLowerCase();
+            sample.stop(Timer.builder("teacher.export.render")
+                    .description("Time to render an export")
+                    .tags("format", formatTag, "outcome", outcome)
+                    .register(meterRegistry));
+            DistributionSummary.builder("teacher.export.bytes")
+                    .description("Size of rendered exports")
+                    .baseUnit("bytes")
+                    .tags("format", formatTag, "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(counting.getCount());
         }
-        
-        return baos.toByteArray();
     }
     
     /**
-     * Export teachers data to Excel format
+     * Export all teachers to PDF format, streaming rows from the database
+     * straight into the given output stream
      */
-    public byte[] exportToExcel(List<TeacherDTO> teachers) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Teachers");
-            
-            // Create header style
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-            
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "Full Name", "Age", "Date of Birth", "Number of Classes"};
-            
-            for (int i = 0; i < headers.length; i++) {
-                org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
-            // Create data rows
-            int rowNum = 1;
-            for (TeacherDTO teacher : teachers) {
-                Row row = sheet.createRow(rowNum++);
-                
-                row.createCell(0).setCellValue(teacher.getId());
-                row.createCell(1).setCellValue(teacher.getFullName());
-                row.createCell(2).setCellValue(teacher.getAge());
-                row.createCell(3).setCellValue(teacher.getDateOfBirth().toString());
-                row.createCell(4).setCellValue(teacher.getNumberOfClasses());
-            }
-            
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            // Add statistics sheet
-            Sheet statsSheet = workbook.createSheet("Statistics");
-            Row statsRow1 = statsSheet.createRow(0);
-            statsRow1.createCell(0).setCellValue("Total Teachers:");
-            statsRow1.createCell(1).setCellValue(teachers.size());
-            
-            if (!teachers.isEmpty()) {
-                double avgClasses = teachers.stream()
-                        .mapToInt(TeacherDTO::getNumberOfClasses)
-                        .average()
-                        .orElse(0.0);
-                
-                Row statsRow2 = statsSheet.createRow(1);
-                statsRow2.createCell(0).setCellValue("Average Classes per Teacher:");
-                statsRow2.createCell(1).setCellValue(avgClasses);
-            }
-            
-            statsSheet.autoSizeColumn(0);
-            statsSheet.autoSizeColumn(1);
-            
-            workbook.write(baos);
+    public void exportToPDF(OutputStream out) throws IOException {
+        exportToPDF(out, () -> {});
+    }
+    
+    /**
+     * Export all teachers to Excel format, streaming rows from the database
+     * straight into the given output stream
+     */
+    public void exportToExcel(OutputStream out) throws IOException {
+        exportToExcel(out, () -> {});
+    }
+    
+    private void exportToPDF(OutputStream out, Runnable onRow) throws IOException {
+        try (PdfExportWriter writer = new PdfExportWriter(out)) {
+            teacherService.streamAllTeachers(teacher -> {
+                writer.writeRow(teacher);
+                onRow.run();
+            });
+            writer.finish();
+        } catch (Exception e) {
+            throw new IOException("Error generating PDF: " + e.getMessage(), e);
+        }
+    }
+    
+    private void exportToExcel(OutputStream out, Runnable onRow) throws IOException {
+        try (ExcelExportWriter writer = new ExcelExportWriter()) {
+            teacherService.streamAllTeachers(teacher -> {
+                writer.writeRow(teacher);
+                onRow.run();
+            });
+            writer.finish(out);
         }
-        
-        return baos.toByteArray();
     }
 }
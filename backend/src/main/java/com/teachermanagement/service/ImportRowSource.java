@@ -0,0 +1,23 @@
+package com.teachermanagement.service;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Source of spreadsheet-style rows for an import
+ */
+public interface ImportRowSource {
+    
+    /**
+     * Call the handler for every row, header included, in file order
+     * Row numbers are 1-based, as a spreadsheet shows them
+     */
+    void forEachRow(RowHandler handler) throws IOException, InterruptedException;
+    
+    /**
+     * Receives rows as they are read; may block to slow the reader down
+     */
+    interface RowHandler {
+        void row(long rowNumber, List<String> cells) throws InterruptedException;
+    }
+}
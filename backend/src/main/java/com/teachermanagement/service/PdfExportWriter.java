@@ -0,0 +1,100 @@
+package com.teachermanagement.service;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.teachermanagement.dto.TeacherDTO;
+
+import java.io.Closeable;
+import java.io.OutputStream;
+
+/**
+ * Streaming PDF writer for teacher exports
+ * Uses an iText large table, so laid-out rows are flushed to the output in
+ * chunks instead of the whole table being held until the document closes
+ */
+public class PdfExportWriter implements Closeable {
+    
+    // Rows buffered in the table before they are laid out and flushed
+    private static final int FLUSH_ROWS = 100;
+    
+    private final Document document;
+    private final Table table;
+    
+    private int rowCount = 0;
+    private long totalClasses = 0;
+    
+    public PdfExportWriter(OutputStream out) {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        PdfDocument pdf = new PdfDocument(writer);
+        document = new Document(pdf);
+        
+        // Add title
+        Paragraph title = new Paragraph("Teacher Management System - Teachers Report")
+                .setFontSize(18)
+                .setBold()
+                .setTextAlignment(TextAlignment.CENTER);
+        document.add(title);
+        
+        // Add some space
+        document.add(new Paragraph(" "));
+        
+        // Large tables must be added to the document before their rows
+        table = new Table(UnitValue.createPercentArray(new float[]{1, 3, 2, 2, 2}), true);
+        table.setWidth(UnitValue.createPercentValue(100));
+        
+        // Add headers
+        table.addHeaderCell(new Cell().add(new Paragraph("ID").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Full Name").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Age").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Date of Birth").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Number of Classes").setBold()));
+        document.add(table);
+    }
+    
+    /**
+     * Append one teacher row, flushing the table every FLUSH_ROWS rows
+     */
+    public void writeRow(TeacherDTO teacher) {
+        table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getId()))));
+        table.addCell(new Cell().add(new Paragraph(teacher.getFullName())));
+        table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getAge()))));
+        table.addCell(new Cell().add(new Paragraph(teacher.getDateOfBirth().toString())));
+        table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getNumberOfClasses()))));
+        
+        totalClasses += teacher.getNumberOfClasses();
+        if (++rowCount % FLUSH_ROWS == 0) {
+            table.flush();
+        }
+    }
+    
+    /**
+     * Complete the table and add the statistics gathered while writing
+     */
+    public void finish() {
+        table.complete();
+        
+        document.add(new Paragraph(" "));
+        document.add(new Paragraph("Total Teachers: " + rowCount).setBold());
+        
+        if (rowCount > 0) {
+            double avgClasses = (double) totalClasses / rowCount;
+            document.add(new Paragraph("Average Classes per Teacher: " +
+                    String.format("%.2f", avgClasses)).setBold());
+        }
+    }
+    
+    /**
+     * Close the document; the underlying output stream is left open
+     */
+    @Override
+    public void close() {
+        document.close();
+    }
+}
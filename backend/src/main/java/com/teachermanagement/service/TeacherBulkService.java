@@ -0,0 +1,323 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.BulkItemResult;
+import com.teachermanagement.dto.BulkResult;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.model.Teacher;
+import com.teachermanagement.repository.TeacherRepository;
+import com.teachermanagement.sync.ChangeVersionSequence;
+import com.teachermanagement.sync.TeacherTombstones;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk create, update and delete
+ * Items are written in chunks of teacher.bulk.chunk-size, one transaction per chunk,
+ * and Hibernate sends each chunk's statements as JDBC batches of hibernate.jdbc.batch_size.
+ * If a chunk fails, its items are retried one by one so a single bad row only fails itself
+ */
+@Service
+public class TeacherBulkService {
+    
+    @Autowired
+    private TeacherRepository teacherRepository;
+    
+    @Autowired
+    private TeacherService teacherService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TeacherTombstones tombstones;
+    
+    @Autowired
+    private ChangeVersionSequence changeVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${teacher.bulk.chunk-size:1000}")
+    private int chunkSize;
+    
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean hookFailureLogged = new AtomicBoolean();
+    
+    public TeacherBulkService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Create every valid teacher in the list
+     */
+    public BulkResult createTeachers(List<TeacherDTO> teachers) {
+        BulkItemResult[] results = new BulkItemResult[teachers.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < teachers.size(); i++) {
+            String error = validate(teachers.get(i));
+            if (error != null) {
+                results[i] = new BulkItemResult(i, null, BulkItemResult.Status.INVALID, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        persistNew(teachers, valid, results);
+        return new BulkResult(Arrays.asList(results));
+    }
+    
+    /**
+     * Create teachers that have already passed validation, e.g. in the import pipeline
+     */
+    public BulkResult createValidatedTeachers(List<TeacherDTO> teachers) {
+        BulkItemResult[] results = new BulkItemResult[teachers.size()];
+        List<Integer> indexes = new ArrayList<>(teachers.size());
+        for (int i = 0; i < teachers.size(); i++) {
+            indexes.add(i);
+        }
+        persistNew(teachers, indexes, results);
+        return new BulkResult(Arrays.asList(results));
+    }
+    
+    private void persistNew(List<TeacherDTO> teachers, List<Integer> valid, BulkItemResult[] results) {
+        process(valid, results, indexes -> {
+            List<Outcome> outcomes = new ArrayList<>();
+            // One round trip for the change versions the listener stamps on the whole chunk
+            changeVersions.reserve(indexes.size());
+            for (int index : indexes) {
+                Teacher teacher = teacherService.convertToEntity(teachers.get(index));
+                teacher.setId(null);
+                // The pooled sequence assigns the id here without a round trip per row
+                entityManager.persist(teacher);
+                outcomes.add(new Outcome(index, teacher.getId(), BulkItemResult.Status.CREATED, teacher,
+                        () -> teacherService.afterCreate(teacherService.convertToDTO(teacher))));
+            }
+            return outcomes;
+        });
+    }
+    
+    /**
+     * Update every valid teacher in the list; each item must carry its id
+     * An item that carries a version is only written while the row is still at that version
+     */
+    public BulkResult updateTeachers(List<TeacherDTO> teachers) {
+        BulkItemResult[] results = new BulkItemResult[teachers.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < teachers.size(); i++) {
+            TeacherDTO teacher = teachers.get(i);
+            String error = teacher != null && teacher.getId() == null ? "id is required" : validate(teacher);
+            if (error != null) {
+                results[i] = new BulkItemResult(i, teacher != null ? teacher.getId() : null,
+                        BulkItemResult.Status.INVALID, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        process(valid, results, indexes -> {
+            Map<Long, Teacher> existing = load(indexes.stream()
+                    .map(index -> teachers.get(index).getId())
+                    .collect(Collectors.toSet()));
+            List<Outcome> outcomes = new ArrayList<>();
+            for (int index : indexes) {
+                TeacherDTO update = teachers.get(index);
+                Teacher teacher = existing.get(update.getId());
+                if (teacher == null) {
+                    outcomes.add(new Outcome(index, update.getId(), BulkItemResult.Status.NOT_FOUND, null, null));
+                    continue;
+                }
+                // A row changed after this check fails the flush on its @Version, and the item retry lands here
+                if (update.getVersion() != null && !update.getVersion().equals(teacher.getVersion())) {
+                    outcomes.add(new Outcome(index, update.getId(), BulkItemResult.Status.CONFLICT, null, null));
+                    continue;
+                }
+                TeacherDTO before = teacherService.convertToDTO(teacher);
+                teacher.setFullName(update.getFullName());
+                teacher.setDateOfBirth(update.getDateOfBirth());
+                teacher.setNumberOfClasses(update.getNumberOfClasses());
+                // Converted after commit, once the flush has bumped the version
+                outcomes.add(new Outcome(index, teacher.getId(), BulkItemResult.Status.UPDATED, teacher,
+                        () -> teacherService.afterUpdate(before, teacherService.convertToDTO(teacher))));
+            }
+            // The listener stamps the updated rows at flush, from versions reserved here in one round trip
+            changeVersions.reserve((int) outcomes.stream().filter(outcome -> outcome.written != null).count());
+            return outcomes;
+        });
+        return new BulkResult(Arrays.asList(results));
+    }
+    
+    /**
+     * Delete every teacher in the list of ids
+     */
+    public BulkResult deleteTeachers(List<Long> ids) {
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = new BulkItemResult(i, null, BulkItemResult.Status.INVALID, "id is required");
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        process(valid, results, indexes -> {
+            Map<Long, Teacher> existing = load(indexes.stream().map(ids::get).collect(Collectors.toSet()));
+            List<Outcome> outcomes = new ArrayList<>();
+            Set<Long> deleted = new HashSet<>();
+            for (int index : indexes) {
+                Long id = ids.get(index);
+                Teacher teacher = existing.get(id);
+                // A repeated id is only deleted once
+                if (teacher == null || !deleted.add(id)) {
+                    outcomes.add(new Outcome(index, id, BulkItemResult.Status.NOT_FOUND, null, null));
+                    continue;
+                }
+                TeacherDTO removed = teacherService.convertToDTO(teacher);
+                outcomes.add(new Outcome(index, id, BulkItemResult.Status.DELETED, null,
+                        () -> teacherService.afterDelete(removed)));
+            }
+            // One DELETE ... WHERE id IN (...) for the whole chunk, and batched tombstone inserts
+            if (!deleted.isEmpty()) {
+                teacherRepository.deleteAllByIdInBatch(deleted);
+                tombstones.record(deleted);
+            }
+            return outcomes;
+        });
+        return new BulkResult(Arrays.asList(results));
+    }
+    
+    /**
+     * Run the work chunk by chunk, each chunk in its own transaction
+     * Derived state (cache, statistics, search indexes) is only updated after a chunk commits,
+     * outside the retry, so a failing update there never writes a committed chunk twice
+     */
+    private void process(List<Integer> indexes, BulkItemResult[] results,
+                         Function<List<Integer>, List<Outcome>> work) {
+        for (int start = 0; start < indexes.size(); start += chunkSize) {
+            List<Integer> chunk = indexes.subList(start, Math.min(start + chunkSize, indexes.size()));
+            List<Outcome> committed;
+            try {
+                committed = runInTransaction(chunk, work);
+            } catch (Exception e) {
+                // Isolate the failing rows by retrying the chunk one item at a time
+                committed = new ArrayList<>();
+                for (int index : chunk) {
+                    try {
+                        committed.addAll(runInTransaction(List.of(index), work));
+                    } catch (Exception itemError) {
+                        results[index] = new BulkItemResult(index, null, BulkItemResult.Status.FAILED,
+                                rootMessage(itemError));
+                    }
+                }
+            }
+            apply(committed, results);
+        }
+    }
+    
+    private List<Outcome> runInTransaction(List<Integer> chunk, Function<List<Integer>, List<Outcome>> work) {
+        return transactionTemplate.execute(status -> {
+            List<Outcome> outcomes = work.apply(chunk);
+            // Flush inside the transaction so batch failures surface here, then drop the entities
+            entityManager.flush();
+            entityManager.clear();
+            return outcomes;
+        });
+    }
+    
+    private void apply(List<Outcome> outcomes, BulkItemResult[] results) {
+        for (Outcome outcome : outcomes) {
+            Long version = outcome.written != null ? outcome.written.getVersion() : null;
+            results[outcome.index] = new BulkItemResult(outcome.index, outcome.id, outcome.status, version, null);
+            if (outcome.afterCommit != null) {
+                try {
+                    outcome.afterCommit.run();
+                } catch (RuntimeException e) {
+                    // The row is committed either way; the next resync or version bump corrects derived state
+                    Counter.builder("teacher.bulk.hook.failures")
+                            .description("Post-commit derived-state updates that failed")
+                            .register(meterRegistry)
+                            .increment();
+                    if (hookFailureLogged.compareAndSet(false, true)) {
+                        System.out.println("Post-commit update failed for teacher " + outcome.id + ": " +
+                                e.getMessage() + "; further failures are counted in teacher.bulk.hook.failures");
+                    }
+                }
+            }
+        }
+    }
+    
+    private Map<Long, Teacher> load(Set<Long> ids) {
+        Map<Long, Teacher> teachers = new HashMap<>();
+        for (Teacher teacher : teacherRepository.findAllById(ids)) {
+            teachers.put(teacher.getId(), teacher);
+        }
+        return teachers;
+    }
+    
+    /**
+     * Bean validation messages for an item, or null when it is valid
+     */
+    String validate(TeacherDTO teacher) {
+        if (teacher == null) {
+            return "item is null";
+        }
+        Set<ConstraintViolation<TeacherDTO>> violations = validator.validate(teacher);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private static String rootMessage(Exception e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+    
+    /**
+     * Result of one item within a chunk, with the entity it wrote and the derived-state update to run after commit
+     */
+    private static final class Outcome {
+        final int index;
+        final Long id;
+        final BulkItemResult.Status status;
+        final Teacher written;
+        final Runnable afterCommit;
+        
+        Outcome(int index, Long id, BulkItemResult.Status status, Teacher written, Runnable afterCommit) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.written = written;
+            this.afterCommit = afterCommit;
+        }
+    }
+}
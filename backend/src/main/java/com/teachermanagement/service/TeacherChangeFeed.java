@@ -0,0 +1,211 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.TeacherChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events feed of teacher changes, published by TeacherService after each write
+ * Every subscriber gets a bounded queue drained by a sender thread, so a write never waits on a client.
+ * A subscriber that falls buffer-size events behind has its queue replaced by a single RESYNC,
+ * which keeps memory per client bounded and tells the client to reload instead of patching
+ */
+@Service
+public class TeacherChangeFeed {
+    
+    private static final TeacherChangeEvent HEARTBEAT = TeacherChangeEvent.resync(-1);
+    
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${teacher.events.buffer-size:256}")
+    private int bufferSize;
+    
+    @Value("${teacher.events.max-subscribers:1000}")
+    private int maxSubscribers;
+    
+    @Value("${teacher.events.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${teacher.events.sender-threads:4}")
+    private int senderThreads;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    private ExecutorService sender;
+    private Counter resyncs;
+    
+    @PostConstruct
+    public void init() {
+        // Each subscriber has at most one drain task queued, so the work queue is bounded by max-subscribers.
+        // A client that stops reading blocks its sender until the write times out; virtual senders make that cheap
+        if (virtualThreads) {
+            sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("teacher-events-", 1).factory());
+        } else {
+            ThreadFactory threadFactory = new CustomizableThreadFactory("teacher-events-");
+            sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+        }
+        Gauge.builder("teacher.events.subscribers", subscribers, Set::size).register(meterRegistry);
+        resyncs = Counter.builder("teacher.events.resyncs").register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+    
+    /**
+     * Open a stream for a new client, or empty when max-subscribers are already connected
+     * A client reconnecting with a Last-Event-ID older than the current version has missed
+     * changes that are not kept anywhere, so it starts with a RESYNC
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        
+        long version = dataVersion.current();
+        if (lastEventId != null && !lastEventId.equals(Long.toString(version))) {
+            subscriber.offer(TeacherChangeEvent.resync(version));
+            resyncs.increment();
+        }
+        // Tells the client the stream is open even when nothing is changing
+        subscriber.offer(HEARTBEAT);
+        schedule(subscriber);
+        return Optional.of(emitter);
+    }
+    
+    /**
+     * Queue a change for every subscriber
+     */
+    public void publish(TeacherChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(event)) {
+                resyncs.increment();
+            }
+            schedule(subscriber);
+        }
+    }
+    
+    /**
+     * Send a comment line to idle clients, which keeps proxies from closing the connection
+     * and finds clients that went away without closing it
+     */
+    @Scheduled(fixedDelayString = "${teacher.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            TeacherChangeEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    send(subscriber.emitter, event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone; the emitter callbacks would do the same, but not until the container notices
+                    subscribers.remove(subscriber);
+                    subscriber.queue.clear();
+                    subscriber.emitter.completeWithError(e);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event queued between the last poll and the reset would otherwise wait for the next publish
+            if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+    
+    private static void send(SseEmitter emitter, TeacherChangeEvent event) throws IOException {
+        if (event == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment(""));
+            return;
+        }
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(event.getVersion()))
+                .name(event.getType().name().toLowerCase(Locale.ROOT))
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+    
+    private static final class Subscriber {
+        
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<TeacherChangeEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final ReentrantLock offerLock = new ReentrantLock();
+        
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+        
+        /**
+         * Queue an event, or drop the backlog for a single RESYNC when the queue is full
+         * Returns false when the backlog was dropped
+         */
+        boolean offer(TeacherChangeEvent event) {
+            offerLock.lock();
+            try {
+                if (queue.offer(event)) {
+                    return true;
+                }
+                queue.clear();
+                queue.offer(TeacherChangeEvent.resync(event.getVersion()));
+                return false;
+            } finally {
+                offerLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.teachermanagement.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counter for the teacher table, bumped by every write in TeacherService
+ * The epoch changes on each restart, so tags from a previous run never match
+ */
+@Component
+public class TeacherDataVersion {
+    
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile long changedAtNanos = System.nanoTime();
+    
+    /**
+     * Current version
+     */
+    public long current() {
+        return version.get();
+    }
+    
+    /**
+     * Record a change to the table
+     */
+    public long increment() {
+        changedAtNanos = System.nanoTime();
+        return version.incrementAndGet();
+    }
+    
+    /**
+     * Milliseconds since the last change, or since startup when nothing has changed
+     */
+    public long millisSinceChange() {
+        return (System.nanoTime() - changedAtNanos) / 1_000_000;
+    }
+    
+    /**
+     * Strong ETag value for the given prefix at the given version
+     */
+    public String etag(String prefix, long version) {
+        return "\"" + prefix + "-" + epoch + "-" + version + "\"";
+    }
+    
+    /**
+     * Weak ETag value for the result of a query at the given version
+     * Weak because Tomcat will not gzip a response carrying a strong ETag; If-None-Match
+     * compares weakly anyway. Includes the day, since responses carry ages computed from today's date
+     */
+    public String etag(String prefix, long version, String query) {
+        String queryHash = DigestUtils.md5DigestAsHex(query.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return "W/\"" + prefix + "-" + epoch + "-" + version + "-" + LocalDate.now().toEpochDay() + "-" + queryHash + "\"";
+    }
+}
@@ -0,0 +1,424 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.BulkItemResult;
+import com.teachermanagement.dto.BulkResult;
+import com.teachermanagement.dto.ImportReport;
+import com.teachermanagement.dto.ImportRowError;
+import com.teachermanagement.dto.TeacherDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for importing teachers from CSV or XLSX files
+ * Runs as a three-stage pipeline: the request thread parses rows, a pool of
+ * validators converts and checks them against the TeacherDTO constraints, and
+ * a single writer commits them in chunks through TeacherBulkService. Stages are
+ * joined by bounded queues, so a slow database slows the parser down instead
+ * of letting parsed rows pile up in memory
+ */
+@Service
+public class TeacherImportService {
+    
+    @Autowired
+    private TeacherBulkService bulkService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${teacher.import.validator-threads:4}")
+    private int validatorThreads;
+    
+    @Value("${teacher.import.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${teacher.import.max-concurrent:2}")
+    private int maxConcurrent;
+    
+    @Value("${teacher.import.max-errors:1000}")
+    private int maxErrors;
+    
+    @Value("${teacher.bulk.chunk-size:1000}")
+    private int chunkSize;
+    
+    private Semaphore permits;
+    private ThreadPoolExecutor executor;
+    private Timer importTimer;
+    private Counter importedRows;
+    private Counter rejectedRows;
+    
+    @PostConstruct
+    public void init() {
+        importTimer = Timer.builder("teacher.import.duration").description("Time per import").register(meterRegistry);
+        importedRows = Counter.builder("teacher.import.rows").tag("outcome", "imported").register(meterRegistry);
+        rejectedRows = Counter.builder("teacher.import.rows").tag("outcome", "rejected").register(meterRegistry);
+        // Every running import holds its validators and writer for its whole run
+        int threads = maxConcurrent * (validatorThreads + 1);
+        permits = new Semaphore(maxConcurrent);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("import-"));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Import a CSV file as it is read from the stream
+     * @throws RejectedExecutionException when too many imports are already running
+     */
+    public ImportReport importCsv(InputStream in) {
+        return importRows(new CsvImportReader(in));
+    }
+    
+    /**
+     * Import the first sheet of an XLSX file
+     * The upload is spooled to a temporary file first, since the zip cannot be read front to back.
+     * The permit is taken before spooling, so a rejected upload is never written to disk
+     * @throws RejectedExecutionException when too many imports are already running
+     */
+    public ImportReport importExcel(InputStream in) throws IOException {
+        acquirePermit();
+        try {
+            Path file = Files.createTempFile("teacher-import-", ".xlsx");
+            try {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+                return new Pipeline().run(new ExcelImportReader(file));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+    
+    /**
+     * Run the pipeline over a row source
+     * @throws RejectedExecutionException when too many imports are already running
+     */
+    public ImportReport importRows(ImportRowSource source) {
+        acquirePermit();
+        try {
+            return new Pipeline().run(source);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private void acquirePermit() {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Too many imports running");
+        }
+    }
+    
+    /**
+     * State of one import run
+     */
+    private final class Pipeline {
+        private final BlockingQueue<ImportRow> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<ImportRow> validated = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<ImportRowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean aborted = false;
+        private volatile Throwable stageFailure;
+        
+        // Set from the header before the first row is queued, so the queue publishes it to the validators
+        private Columns columns;
+        private long rowsRead = 0;
+        
+        ImportReport run(ImportRowSource source) {
+            long started = System.nanoTime();
+            ImportReport report = new ImportReport();
+            
+            List<Future<?>> stages = new ArrayList<>();
+            for (int i = 0; i < validatorThreads; i++) {
+                stages.add(executor.submit(() -> stage(this::validate)));
+            }
+            stages.add(executor.submit(() -> stage(this::write)));
+            
+            try {
+                source.forEachRow((rowNumber, cells) -> {
+                    if (columns == null) {
+                        columns = Columns.fromHeader(cells);
+                    } else if (!isBlank(cells)) {
+                        rowsRead++;
+                        put(parsed, new ImportRow(rowNumber, cells, null));
+                    }
+                });
+                for (int i = 0; i < validatorThreads; i++) {
+                    put(parsed, ImportRow.END);
+                }
+                for (Future<?> stage : stages) {
+                    stage.get();
+                }
+                report.setCompleted(true);
+            } catch (Exception e) {
+                aborted = true;
+                stages.forEach(stage -> stage.cancel(true));
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                Throwable cause = stageFailure != null ? stageFailure
+                        : e instanceof ExecutionException ? e.getCause() : e;
+                cause.printStackTrace();
+                report.setFailure(cause.getMessage());
+            }
+            
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            List<ImportRowError> sortedErrors = new ArrayList<>(errors);
+            sortedErrors.sort(Comparator.comparingLong(ImportRowError::getRow));
+            
+            report.setRowsRead(rowsRead);
+            report.setImported(imported.get());
+            report.setRejected(rejected.get());
+            report.setElapsedMs(elapsedMs);
+            report.setRowsPerSecond(rowsRead * 1000 / elapsedMs);
+            report.setErrors(sortedErrors);
+            report.setErrorsTruncated(rejected.get() > sortedErrors.size());
+            importTimer.record(elapsedMs, TimeUnit.MILLISECONDS);
+            importedRows.increment(imported.get());
+            rejectedRows.increment(rejected.get());
+            return report;
+        }
+        
+        /**
+         * Validator stage: convert and check rows until the parser signals the end
+         */
+        private void validate() throws InterruptedException {
+            while (true) {
+                ImportRow row = take(parsed);
+                if (row == ImportRow.END) {
+                    put(validated, ImportRow.END);
+                    return;
+                }
+                String error;
+                TeacherDTO teacher = null;
+                try {
+                    teacher = columns.toTeacher(row.cells);
+                    error = bulkService.validate(teacher);
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+                if (error != null) {
+                    reject(row.number, error);
+                } else {
+                    put(validated, new ImportRow(row.number, null, teacher));
+                }
+            }
+        }
+        
+        /**
+         * Writer stage: commit valid rows in chunks until every validator has finished
+         */
+        private void write() throws InterruptedException {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            int finished = 0;
+            while (finished < validatorThreads) {
+                ImportRow row = take(validated);
+                if (row == ImportRow.END) {
+                    finished++;
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    commit(chunk);
+                    chunk.clear();
+                }
+            }
+            commit(chunk);
+        }
+        
+        private void commit(List<ImportRow> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<TeacherDTO> teachers = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                teachers.add(row.teacher);
+            }
+            BulkResult result = bulkService.createValidatedTeachers(teachers);
+            for (int i = 0; i < chunk.size(); i++) {
+                BulkItemResult item = result.getItems().get(i);
+                if (item.isSucceeded()) {
+                    imported.incrementAndGet();
+                } else {
+                    reject(chunk.get(i).number, item.getError());
+                }
+            }
+        }
+        
+        private void reject(long rowNumber, String error) {
+            if (rejected.incrementAndGet() <= maxErrors) {
+                errors.add(new ImportRowError(rowNumber, error));
+            }
+        }
+        
+        /**
+         * Run a stage, stopping the whole pipeline if it fails
+         */
+        private void stage(StageBody body) {
+            try {
+                body.run();
+            } catch (CancellationException e) {
+                // Another stage failed first
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                stageFailure = e;
+                aborted = true;
+                throw e;
+            }
+        }
+        
+        // Queue operations poll, so every stage notices an abort within a tenth of a second
+        private void put(BlockingQueue<ImportRow> queue, ImportRow row) throws InterruptedException {
+            while (!queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                checkAborted();
+            }
+        }
+        
+        private ImportRow take(BlockingQueue<ImportRow> queue) throws InterruptedException {
+            while (true) {
+                ImportRow row = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (row != null) {
+                    return row;
+                }
+                checkAborted();
+            }
+        }
+        
+        private void checkAborted() {
+            if (aborted) {
+                throw new CancellationException("Import aborted");
+            }
+        }
+    }
+    
+    private static boolean isBlank(List<String> cells) {
+        for (String cell : cells) {
+            if (!cell.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private interface StageBody {
+        void run() throws InterruptedException;
+    }
+    
+    /**
+     * A row moving through the pipeline: raw cells before validation, a teacher after
+     */
+    private static final class ImportRow {
+        static final ImportRow END = new ImportRow(-1, null, null);
+        
+        final long number;
+        final List<String> cells;
+        final TeacherDTO teacher;
+        
+        ImportRow(long number, List<String> cells, TeacherDTO teacher) {
+            this.number = number;
+            this.cells = cells;
+            this.teacher = teacher;
+        }
+    }
+    
+    /**
+     * Column positions, found by header name; other columns (ID, Age) are ignored
+     */
+    private static final class Columns {
+        final int fullName;
+        final int dateOfBirth;
+        final int numberOfClasses;
+        
+        private Columns(int fullName, int dateOfBirth, int numberOfClasses) {
+            this.fullName = fullName;
+            this.dateOfBirth = dateOfBirth;
+            this.numberOfClasses = numberOfClasses;
+        }
+        
+        /**
+         * Accepts the export headers ("Full Name") as well as field names ("fullName")
+         */
+        static Columns fromHeader(List<String> header) {
+            List<String> names = new ArrayList<>();
+            for (String cell : header) {
+                names.add(cell.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT));
+            }
+            return new Columns(column(names, "fullname"), column(names, "dateofbirth"),
+                    column(names, "numberofclasses"));
+        }
+        
+        private static int column(List<String> names, String name) {
+            int index = names.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Missing column: " + name);
+            }
+            return index;
+        }
+        
+        TeacherDTO toTeacher(List<String> cells) {
+            TeacherDTO teacher = new TeacherDTO();
+            String fullName = cell(cells, this.fullName);
+            teacher.setFullName(fullName.isEmpty() ? null : fullName);
+            
+            String dateOfBirth = cell(cells, this.dateOfBirth);
+            if (!dateOfBirth.isEmpty()) {
+                try {
+                    teacher.setDateOfBirth(LocalDate.parse(dateOfBirth));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("dateOfBirth: Date of birth must be in yyyy-MM-dd format");
+                }
+            }
+            
+            String numberOfClasses = cell(cells, this.numberOfClasses);
+            if (numberOfClasses.isEmpty()) {
+                throw new IllegalArgumentException("numberOfClasses: Number of classes is required");
+            }
+            try {
+                teacher.setNumberOfClasses(new BigDecimal(numberOfClasses).intValueExact());
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new IllegalArgumentException("numberOfClasses: Number of classes must be a whole number");
+            }
+            return teacher;
+        }
+        
+        private static String cell(List<String> cells, int index) {
+            return index < cells.size() ? cells.get(index).trim() : "";
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherField;
+import com.teachermanagement.model.Teacher;
+import com.teachermanagement.repository.TeacherRepository;
+import com.teachermanagement.repository.TeacherSpecifications;
+import com.teachermanagement.search.NgramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Service for substring search on teacher names
+ * Uses a pg_trgm GIN index when the database has the extension, otherwise
+ * an in-memory trigram index, and falls back to a plain LIKE scan until
+ * either is ready or for terms too short for trigrams
+ */
+@Service
+public class TeacherSearchService {
+    
+    public enum Mode { LIKE, TRIGRAM, MEMORY }
+    
+    private static final String TRIGRAM_INDEX = "idx_teachers_full_name_trgm";
+    
+    @Autowired
+    private TeacherRepository teacherRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    // auto, trigram, memory or like
+    @Value("${teacher.search.mode:auto}")
+    private String configuredMode;
+    
+    private volatile Mode mode = Mode.LIKE;
+    private volatile NgramIndex ngramIndex;
+    
+    /**
+     * Set up the search path once Hibernate has created the schema
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String configured = configuredMode.trim().toLowerCase(Locale.ROOT);
+        if (configured.equals("like")) {
+            return;
+        }
+        if (!configured.equals("memory") && createTrigramIndex()) {
+            mode = Mode.TRIGRAM;
+            return;
+        }
+        if (!configured.equals("trigram")) {
+            buildNgramIndex();
+            mode = Mode.MEMORY;
+        }
+    }
+    
+    /**
+     * Search path currently in use
+     */
+    public Mode getMode() {
+        return mode;
+    }
+    
+    /**
+     * Teachers with an id greater than afterId whose name contains the term, in id order
+     */
+    public List<TeacherDTO> search(String term, long afterId, int limit) {
+        NgramIndex index = ngramIndex;
+        if (mode == Mode.MEMORY && index != null && term.length() >= NgramIndex.minimumTermLength()) {
+            List<Long> ids = index.search(term, afterId, limit);
+            return ids.isEmpty() ? List.of() : teacherRepository.findDTOsByIdIn(ids);
+        }
+        // In TRIGRAM mode the GIN index serves this query; otherwise it is a plain scan
+        return teacherRepository.searchByLowerNamePattern(containsPattern(term), afterId, Limit.of(limit));
+    }
+    
+    /**
+     * Like search, but reading only the columns behind the given fields
+     */
+    public List<TeacherDTO> search(String term, long afterId, int limit, Set<TeacherField> fields) {
+        if (fields.containsAll(TeacherField.ALL)) {
+            return search(term, afterId, limit);
+        }
+        NgramIndex index = ngramIndex;
+        if (mode == Mode.MEMORY && index != null && term.length() >= NgramIndex.minimumTermLength()) {
+            List<Long> ids = index.search(term, afterId, limit);
+            return ids.isEmpty() ? List.of() : teacherRepository.findDTOs(
+                    TeacherSpecifications.idIn(ids), fields, Limit.unlimited());
+        }
+        Specification<Teacher> specification = Specification.where(TeacherSpecifications.idAfter(afterId))
+                .and(TeacherSpecifications.lowerNameLike(containsPattern(term)));
+        return teacherRepository.findDTOs(specification, fields, Limit.of(limit));
+    }
+    
+    /**
+     * Lowercased LIKE pattern matching names that contain the term, with wildcards in the term escaped
+     */
+    static String containsPattern(String term) {
+        return "%" + escapeLike(term.toLowerCase(Locale.ROOT)) + "%";
+    }
+    
+    /**
+     * Keep the in-memory index in step with a created or updated teacher
+     */
+    public void indexTeacher(Long id, String fullName) {
+        NgramIndex index = ngramIndex;
+        if (index != null) {
+            index.put(id, fullName);
+        }
+    }
+    
+    /**
+     * Keep the in-memory index in step with a deleted teacher
+     */
+    public void removeTeacher(Long id) {
+        NgramIndex index = ngramIndex;
+        if (index != null) {
+            index.remove(id);
+        }
+    }
+    
+    /**
+     * Create the pg_trgm extension and a GIN index on lower(full_name)
+     * Returns false when the database cannot provide them
+     */
+    private boolean createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            // A failed or interrupted concurrent build leaves an invalid index that IF NOT EXISTS
+            // would keep: never used by queries, but still updated on every write
+            if (Boolean.FALSE.equals(trigramIndexValid())) {
+                System.out.println("Rebuilding invalid trigram index " + TRIGRAM_INDEX);
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + TRIGRAM_INDEX);
+            }
+            // CONCURRENTLY avoids blocking writes while an existing table is indexed
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + TRIGRAM_INDEX +
+                    " ON teachers USING gin (lower(full_name) gin_trgm_ops)");
+            return Boolean.TRUE.equals(trigramIndexValid());
+        } catch (Exception e) {
+            dropInvalidTrigramIndex();
+            System.out.println("Trigram index unavailable, using in-memory search index: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Whether the trigram index is valid, or null when there is none
+     */
+    private Boolean trigramIndexValid() {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?",
+                Boolean.class, TRIGRAM_INDEX);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+    
+    // Clean up after a build that failed part way; without PostgreSQL there is nothing to clean up
+    private void dropInvalidTrigramIndex() {
+        try {
+            if (Boolean.FALSE.equals(trigramIndexValid())) {
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + TRIGRAM_INDEX);
+            }
+        } catch (Exception e) {
+            // The next start drops it before building again
+        }
+    }
+    
+    private void buildNgramIndex() {
+        // Publish before checking the version, so writes after the check land in this index;
+        // a write that raced the load triggers a rebuild
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long version = dataVersion.current();
+            NgramIndex index = new NgramIndex();
+            for (Object[] row : teacherRepository.findAllIdsAndNames()) {
+                index.put((Long) row[0], (String) row[1]);
+            }
+            ngramIndex = index;
+            if (dataVersion.current() == version) {
+                return;
+            }
+        }
+    }
+    
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
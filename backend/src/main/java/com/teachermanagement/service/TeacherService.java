@@ -1,21 +1,35 @@
 package com.teachermanagement.service;
 
+import com.teachermanagement.cache.TeacherCache;
 import com.teachermanagement.dto.FilterCriteria;
+import com.teachermanagement.dto.TeacherChangeEvent;
 import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherField;
+import com.teachermanagement.dto.TeacherPage;
+import com.teachermanagement.dto.TeacherRevision;
 import com.teachermanagement.model.Teacher;
 import com.teachermanagement.repository.TeacherRepository;
+import com.teachermanagement.repository.TeacherSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.Period;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for Teacher operations
  * Contains business logic for teacher management
+ * Reads run in read-only transactions on DTO projections; only writes load entities
  */
 @Service
 public class TeacherService {
@@ -23,27 +37,75 @@ public class TeacherService {
     @Autowired
     private TeacherRepository teacherRepository;
     
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    @Autowired
+    private TeacherCache teacherCache;
+    
+    @Autowired
+    private TeacherStatisticsEngine statisticsEngine;
+    
+    @Autowired
+    private TeacherSearchService searchService;
+    
+    @Autowired
+    private TeacherSuggestService suggestService;
+    
+    @Autowired
+    private TeacherChangeFeed changeFeed;
+    
+    @Value("${teacher.pagination.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${teacher.pagination.max-size:500}")
+    private int maxPageSize;
+    
     /**
-     * Get all teachers
+     * Stream every teacher to the given sink as rows come off the database cursor.
+     * Rows are projected straight into DTOs, so the persistence context stays empty
      */
-    public List<TeacherDTO> getAllTeachers() {
-        try {
-            List<Teacher> teachers = teacherRepository.findAll();
-            return teachers.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Error retrieving teachers: " + e.getMessage(), e);
+    @Transactional(readOnly = true)
+    public void streamAllTeachers(Consumer<TeacherDTO> sink) {
+        try (Stream<TeacherDTO> teachers = teacherRepository.streamAllByOrderByIdAsc()) {
+            teachers.forEach(sink);
         }
     }
     
+    /**
+     * Get one keyset page of teachers ordered by id
+     */
+    @Transactional(readOnly = true)
+    public TeacherPage getTeachersPage(Long after, Integer limit) {
+        return getTeachersPage(after, limit, TeacherField.ALL);
+    }
+    
+    /**
+     * Get one keyset page of teachers ordered by id, reading only the given fields
+     */
+    @Transactional(readOnly = true)
+    public TeacherPage getTeachersPage(Long after, Integer limit, Set<TeacherField> fields) {
+        int pageSize = resolvePageSize(limit);
+        List<TeacherDTO> teachers = fields.containsAll(TeacherField.ALL)
+                ? teacherRepository.findByIdGreaterThanOrderByIdAsc(resolveCursor(after), Limit.of(pageSize + 1))
+                : teacherRepository.findDTOs(TeacherSpecifications.idAfter(resolveCursor(after)), fields,
+                        Limit.of(pageSize + 1));
+        return toPage(teachers, pageSize);
+    }
+    
     /**
      * Get teacher by ID
      */
+    @Transactional(readOnly = true)
     public Optional<TeacherDTO> getTeacherById(Long id) {
-        Optional<Teacher> teacher = teacherRepository.findById(id);
-        return teacher.map(this::convertToDTO);
+        return teacherCache.get(id, teacherRepository::findDTOById);
+    }
+    
+    /**
+     * Get teacher cache statistics
+     */
+    public Map<String, Object> getCacheStatistics() {
+        return teacherCache.stats();
     }
     
     /**
@@ -51,104 +113,136 @@ public class TeacherService {
      */
     public TeacherDTO createTeacher(TeacherDTO teacherDTO) {
         Teacher teacher = convertToEntity(teacherDTO);
+        // Ids come from the sequence; a client-supplied id would turn the insert into a merge
+        teacher.setId(null);
         Teacher savedTeacher = teacherRepository.save(teacher);
-        return convertToDTO(savedTeacher);
+        TeacherDTO savedDTO = convertToDTO(savedTeacher);
+        afterCreate(savedDTO);
+        return savedDTO;
     }
     
     /**
      * Update an existing teacher
      */
     public Optional<TeacherDTO> updateTeacher(Long id, TeacherDTO teacherDTO) {
-        Optional<Teacher> existingTeacher = teacherRepository.findById(id);
-        if (existingTeacher.isPresent()) {
-            Teacher teacher = existingTeacher.get();
-            teacher.setFullName(teacherDTO.getFullName());
-            teacher.setDateOfBirth(teacherDTO.getDateOfBirth());
-            teacher.setNumberOfClasses(teacherDTO.getNumberOfClasses());
-            Teacher updatedTeacher = teacherRepository.save(teacher);
-            return Optional.of(convertToDTO(updatedTeacher));
+        return updateTeacher(id, teacherDTO, null);
+    }
+    
+    /**
+     * Replace every field of a teacher in one UPDATE
+     * teacherDTO must be complete, as a validated PUT body is; a null field would be left unchanged
+     * Throws OptimisticLockingFailureException when expectedVersion is set and the row has moved on
+     */
+    public Optional<TeacherDTO> updateTeacher(Long id, TeacherDTO teacherDTO, Long expectedVersion) {
+        return patchTeacher(id, teacherDTO, expectedVersion);
+    }
+    
+    /**
+     * Set only the non-null fields of changes, in one UPDATE
+     * Throws OptimisticLockingFailureException when expectedVersion is set and the row has moved on
+     */
+    public Optional<TeacherDTO> patchTeacher(Long id, TeacherDTO changes, Long expectedVersion) {
+        Optional<TeacherRevision> revision = teacherRepository.patch(id, changes, expectedVersion);
+        if (revision.isEmpty()) {
+            // Only a failed conditional write costs the extra lookup that tells a conflict from a miss
+            if (expectedVersion != null && teacherRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Teacher " + id + " is no longer at version " + expectedVersion);
+            }
+            return Optional.empty();
         }
-        return Optional.empty();
+        afterUpdate(revision.get().getBefore(), revision.get().getAfter());
+        return Optional.of(revision.get().getAfter());
     }
     
     /**
      * Delete a teacher
      */
     public boolean deleteTeacher(Long id) {
-        if (teacherRepository.existsById(id)) {
-            teacherRepository.deleteById(id);
-            return true;
+        return deleteTeacher(id, null);
+    }
+    
+    /**
+     * Delete a teacher and write its tombstone in one statement
+     * Throws OptimisticLockingFailureException when expectedVersion is set and the row has moved on
+     */
+    public boolean deleteTeacher(Long id, Long expectedVersion) {
+        Optional<TeacherDTO> deleted = teacherRepository.deleteReturning(id, expectedVersion);
+        if (deleted.isEmpty()) {
+            if (expectedVersion != null && teacherRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Teacher " + id + " is no longer at version " + expectedVersion);
+            }
+            return false;
         }
-        return false;
+        afterDelete(deleted.get());
+        return true;
     }
     
     /**
-     * Search teachers by name
+     * Search teachers by name, one keyset page at a time
      */
-    public List<TeacherDTO> searchTeachers(String searchTerm) {
-        List<Teacher> teachers = teacherRepository.findByFullNameContainingIgnoreCase(searchTerm);
-        return teachers.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TeacherPage searchTeachersPage(String searchTerm, Long after, Integer limit) {
+        return searchTeachersPage(searchTerm, after, limit, TeacherField.ALL);
     }
     
     /**
-     * Filter teachers by criteria
+     * Search teachers by name, one keyset page at a time, reading only the given fields
      */
-    public List<TeacherDTO> filterTeachers(FilterCriteria criteria) {
-        LocalDate startDate = null;
-        LocalDate endDate = null;
-        
-        // Convert age range to date range
-        if (criteria.getMinAge() != null) {
-            endDate = LocalDate.now().minusYears(criteria.getMinAge());
-        }
-        if (criteria.getMaxAge() != null) {
-            startDate = LocalDate.now().minusYears(criteria.getMaxAge() + 1);
-        }
-        
-        List<Teacher> teachers = teacherRepository.findTeachersByCriteria(
-                criteria.getSearchTerm(),
-                criteria.getMinClasses(),
-                criteria.getMaxClasses(),
-                startDate,
-                endDate
-        );
-        
-        return teachers.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TeacherPage searchTeachersPage(String searchTerm, Long after, Integer limit, Set<TeacherField> fields) {
+        int pageSize = resolvePageSize(limit);
+        List<TeacherDTO> teachers = searchService.search(searchTerm, resolveCursor(after), pageSize + 1, fields);
+        return toPage(teachers, pageSize);
+    }
+    
+    /**
+     * Filter teachers by criteria, one keyset page at a time
+     */
+    @Transactional(readOnly = true)
+    public TeacherPage filterTeachersPage(FilterCriteria criteria, Long after, Integer limit) {
+        return filterTeachersPage(criteria, after, limit, TeacherField.ALL);
+    }
+    
+    /**
+     * Filter teachers by criteria, one keyset page at a time, reading only the given fields
+     */
+    @Transactional(readOnly = true)
+    public TeacherPage filterTeachersPage(FilterCriteria criteria, Long after, Integer limit,
+                                          Set<TeacherField> fields) {
+        int pageSize = resolvePageSize(limit);
+        List<TeacherDTO> teachers = teacherRepository.findDTOs(
+                toSpecification(criteria, resolveCursor(after)), fields, Limit.of(pageSize + 1));
+        return toPage(teachers, pageSize);
     }
     
     /**
      * Get teachers filtered by age range
      */
+    @Transactional(readOnly = true)
     public List<TeacherDTO> getTeachersByAgeRange(Integer minAge, Integer maxAge) {
         LocalDate endDate = LocalDate.now().minusYears(minAge);
         LocalDate startDate = LocalDate.now().minusYears(maxAge + 1);
         
-        List<Teacher> teachers = teacherRepository.findByDateOfBirthBetween(startDate, endDate);
-        return teachers.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return teacherRepository.findByDateOfBirthBetween(startDate, endDate);
     }
     
     /**
      * Get teachers filtered by number of classes range
      */
+    @Transactional(readOnly = true)
     public List<TeacherDTO> getTeachersByClassesRange(Integer minClasses, Integer maxClasses) {
-        List<Teacher> teachers = teacherRepository.findByNumberOfClassesBetween(minClasses, maxClasses);
-        return teachers.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return teacherRepository.findByNumberOfClassesBetween(minClasses, maxClasses);
     }
     
     /**
      * Calculate average number of classes
      */
+    @Transactional(readOnly = true)
     public Double getAverageNumberOfClasses() {
         try {
-            Double average = teacherRepository.findAverageNumberOfClasses();
+            Double average = statisticsEngine.isLoaded()
+                    ? statisticsEngine.getAverageClasses()
+                    : teacherRepository.findAverageNumberOfClasses();
             return average != null ? Math.round(average * 100.0) / 100.0 : 0.0;
         } catch (Exception e) {
             e.printStackTrace();
@@ -159,27 +253,140 @@ public class TeacherService {
     /**
      * Get total number of teachers
      */
+    @Transactional(readOnly = true)
     public Long getTotalTeachersCount() {
-        return teacherRepository.countTotalTeachers();
+        return statisticsEngine.isLoaded()
+                ? statisticsEngine.getCount()
+                : teacherRepository.countTotalTeachers();
+    }
+    
+    /**
+     * Get the number of teachers for each number of classes from 1 to 50
+     */
+    public Map<Integer, Long> getClassesDistribution() {
+        return statisticsEngine.getClassesHistogram();
+    }
+    
+    /**
+     * Get the number of teachers for each age
+     */
+    public Map<Integer, Long> getAgeDistribution() {
+        return statisticsEngine.getAgeHistogram();
+    }
+    
+    /**
+     * Keep derived state in step after a teacher is created
+     */
+    void afterCreate(TeacherDTO created) {
+        long version = dataVersion.increment();
+        teacherCache.put(created);
+        statisticsEngine.onCreate(created);
+        searchService.indexTeacher(created.getId(), created.getFullName());
+        suggestService.indexTeacher(created.getId(), created.getFullName());
+        changeFeed.publish(TeacherChangeEvent.created(version, created));
+    }
+    
+    /**
+     * Keep derived state in step after a teacher is updated
+     */
+    void afterUpdate(TeacherDTO before, TeacherDTO after) {
+        long version = dataVersion.increment();
+        teacherCache.invalidate(after.getId());
+        statisticsEngine.onUpdate(before, after);
+        searchService.indexTeacher(after.getId(), after.getFullName());
+        suggestService.indexTeacher(after.getId(), after.getFullName());
+        changeFeed.publish(TeacherChangeEvent.updated(version, after));
+    }
+    
+    /**
+     * Keep derived state in step after a teacher is deleted
+     */
+    void afterDelete(TeacherDTO deleted) {
+        long version = dataVersion.increment();
+        teacherCache.invalidate(deleted.getId());
+        statisticsEngine.onDelete(deleted);
+        searchService.removeTeacher(deleted.getId());
+        suggestService.removeTeacher(deleted.getId());
+        changeFeed.publish(TeacherChangeEvent.deleted(version, deleted.getId()));
+    }
+    
+    /**
+     * Build a filter from only the criteria that are set
+     */
+    private Specification<Teacher> toSpecification(FilterCriteria criteria, Long afterId) {
+        String searchTerm = criteria.getSearchTerm();
+        String namePattern = searchTerm != null && !searchTerm.isEmpty()
+                ? TeacherSearchService.containsPattern(searchTerm)
+                : null;
+        return Specification.where(TeacherSpecifications.idAfter(afterId))
+                .and(TeacherSpecifications.lowerNameLike(namePattern))
+                .and(TeacherSpecifications.minClasses(criteria.getMinClasses()))
+                .and(TeacherSpecifications.maxClasses(criteria.getMaxClasses()))
+                .and(TeacherSpecifications.bornOnOrAfter(earliestBirthDate(criteria.getMaxAge())))
+                .and(TeacherSpecifications.bornOnOrBefore(latestBirthDate(criteria.getMinAge())));
+    }
+    
+    /**
+     * Convert a maximum age into the earliest matching date of birth
+     */
+    private LocalDate earliestBirthDate(Integer maxAge) {
+        return maxAge != null ? LocalDate.now().minusYears(maxAge + 1) : null;
+    }
+    
+    /**
+     * Convert a minimum age into the latest matching date of birth
+     */
+    private LocalDate latestBirthDate(Integer minAge) {
+        return minAge != null ? LocalDate.now().minusYears(minAge) : null;
+    }
+    
+    /**
+     * Clamp the requested page size to the configured bounds
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+    
+    /**
+     * Ids start at 1, so a missing cursor means "from the beginning"
+     */
+    private Long resolveCursor(Long after) {
+        return after != null ? after : 0L;
+    }
+    
+    /**
+     * Build a page from a query that fetched one row more than the page size;
+     * the extra row only signals that another page exists
+     */
+    private TeacherPage toPage(List<TeacherDTO> teachers, int pageSize) {
+        boolean hasMore = teachers.size() > pageSize;
+        List<TeacherDTO> items = hasMore ? teachers.subList(0, pageSize) : teachers;
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new TeacherPage(items, nextCursor, pageSize);
     }
     
     /**
      * Convert Teacher entity to TeacherDTO
      */
-    private TeacherDTO convertToDTO(Teacher teacher) {
-        return new TeacherDTO(
+    TeacherDTO convertToDTO(Teacher teacher) {
+        TeacherDTO teacherDTO = new TeacherDTO(
                 teacher.getId(),
                 teacher.getFullName(),
                 teacher.getDateOfBirth(),
                 teacher.getNumberOfClasses(),
                 teacher.getAge()
         );
+        teacherDTO.setVersion(teacher.getVersion());
+        return teacherDTO;
     }
     
     /**
      * Convert TeacherDTO to Teacher entity
      */
-    private Teacher convertToEntity(TeacherDTO teacherDTO) {
+    Teacher convertToEntity(TeacherDTO teacherDTO) {
         Teacher teacher = new Teacher();
         teacher.setId(teacherDTO.getId());
         teacher.setFullName(teacherDTO.getFullName());
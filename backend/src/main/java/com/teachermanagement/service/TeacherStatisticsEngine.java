@@ -0,0 +1,160 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.repository.TeacherRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory teacher aggregates, seeded from the database at startup and
+ * kept current by TeacherService on every create, update and delete
+ * Reads never touch the database. A periodic reconciliation reloads the
+ * aggregates to correct drift, e.g. ages moving on as birthdays pass
+ */
+@Component
+public class TeacherStatisticsEngine {
+    
+    private static final int MIN_CLASSES = 1;
+    private static final int MAX_CLASSES = 50;
+    
+    // Ages above this are counted in the last bucket
+    private static final int MAX_AGE = 120;
+    
+    @Autowired
+    private TeacherRepository teacherRepository;
+    
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    private long count = 0;
+    private long totalClasses = 0;
+    private long[] classesHistogram = new long[MAX_CLASSES + 1];
+    private long[] ageHistogram = new long[MAX_AGE + 1];
+    private boolean loaded = false;
+    
+    /**
+     * Seed the aggregates once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+    
+    /**
+     * Reload the aggregates from the database
+     * The result is discarded if a write lands while the queries run; the next run retries
+     */
+    @Scheduled(initialDelayString = "${teacher.statistics.reconcile-interval-ms:300000}",
+               fixedDelayString = "${teacher.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            long version = dataVersion.current();
+            
+            long newCount = 0;
+            long newTotalClasses = 0;
+            long[] newClasses = new long[MAX_CLASSES + 1];
+            for (Object[] row : teacherRepository.countByNumberOfClasses()) {
+                int classes = (Integer) row[0];
+                long teachers = (Long) row[1];
+                newCount += teachers;
+                newTotalClasses += classes * teachers;
+                newClasses[classBucket(classes)] += teachers;
+            }
+            
+            long[] newAges = new long[MAX_AGE + 1];
+            LocalDate today = LocalDate.now();
+            for (Object[] row : teacherRepository.countByDateOfBirth()) {
+                newAges[ageBucket((LocalDate) row[0], today)] += (Long) row[1];
+            }
+            
+            synchronized (this) {
+                if (dataVersion.current() != version) {
+                    return;
+                }
+                count = newCount;
+                totalClasses = newTotalClasses;
+                classesHistogram = newClasses;
+                ageHistogram = newAges;
+                loaded = true;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+    
+    public synchronized void onCreate(TeacherDTO teacher) {
+        add(teacher, 1);
+    }
+    
+    public synchronized void onUpdate(TeacherDTO before, TeacherDTO after) {
+        add(before, -1);
+        add(after, 1);
+    }
+    
+    public synchronized void onDelete(TeacherDTO teacher) {
+        add(teacher, -1);
+    }
+    
+    public synchronized long getCount() {
+        return count;
+    }
+    
+    public synchronized double getAverageClasses() {
+        return count > 0 ? (double) totalClasses / count : 0.0;
+    }
+    
+    /**
+     * Teachers per number of classes, for every value from 1 to 50
+     */
+    public synchronized Map<Integer, Long> getClassesHistogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int classes = MIN_CLASSES; classes <= MAX_CLASSES; classes++) {
+            histogram.put(classes, classesHistogram[classes]);
+        }
+        return histogram;
+    }
+    
+    /**
+     * Teachers per age in years, for ages that have at least one teacher
+     */
+    public synchronized Map<Integer, Long> getAgeHistogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int age = 0; age <= MAX_AGE; age++) {
+            if (ageHistogram[age] > 0) {
+                histogram.put(age, ageHistogram[age]);
+            }
+        }
+        return histogram;
+    }
+    
+    /**
+     * Whether the aggregates have been seeded from the database yet
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+    
+    private void add(TeacherDTO teacher, int sign) {
+        count += sign;
+        totalClasses += (long) sign * teacher.getNumberOfClasses();
+        classesHistogram[classBucket(teacher.getNumberOfClasses())] += sign;
+        ageHistogram[ageBucket(teacher.getDateOfBirth(), LocalDate.now())] += sign;
+    }
+    
+    private static int classBucket(int classes) {
+        return Math.max(MIN_CLASSES, Math.min(MAX_CLASSES, classes));
+    }
+    
+    private static int ageBucket(LocalDate dateOfBirth, LocalDate today) {
+        int age = Period.between(dateOfBirth, today).getYears();
+        return Math.max(0, Math.min(MAX_AGE, age));
+    }
+}
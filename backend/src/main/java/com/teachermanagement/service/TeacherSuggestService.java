@@ -0,0 +1,79 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.TeacherSuggestion;
+import com.teachermanagement.repository.TeacherRepository;
+import com.teachermanagement.search.PrefixTrie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service for name autocomplete, answered entirely from an in-memory prefix trie
+ * The trie is loaded at startup and kept current by TeacherService writes
+ */
+@Service
+public class TeacherSuggestService {
+    
+    @Autowired
+    private TeacherRepository teacherRepository;
+    
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    @Value("${teacher.suggest.default-limit:10}")
+    private int defaultLimit;
+    
+    @Value("${teacher.suggest.max-limit:50}")
+    private int maxLimit;
+    
+    private volatile PrefixTrie trie = new PrefixTrie();
+    
+    /**
+     * Load every teacher name into a fresh trie
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Publish before checking the version, so writes after the check land in this trie;
+        // a write that raced the load triggers a reload
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long version = dataVersion.current();
+            PrefixTrie loaded = new PrefixTrie();
+            for (Object[] row : teacherRepository.findAllIdsAndNames()) {
+                loaded.put((Long) row[0], (String) row[1]);
+            }
+            trie = loaded;
+            if (dataVersion.current() == version) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Top suggestions for a name prefix
+     */
+    public List<TeacherSuggestion> suggest(String prefix, Integer limit) {
+        int size = limit == null || limit < 1 ? defaultLimit : Math.min(limit, maxLimit);
+        return trie.suggest(prefix, size).stream()
+                .map(entry -> new TeacherSuggestion(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Keep the trie in step with a created or updated teacher
+     */
+    public void indexTeacher(Long id, String fullName) {
+        trie.put(id, fullName);
+    }
+    
+    /**
+     * Keep the trie in step with a deleted teacher
+     */
+    public void removeTeacher(Long id) {
+        trie.remove(id);
+    }
+}
@@ -0,0 +1,81 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.TeacherChangePage;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.repository.TeacherRepository;
+import com.teachermanagement.repository.TeacherTombstoneRepository;
+import com.teachermanagement.sync.ChangeVersionSequence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for incremental sync
+ * Every write stamps the row, or its tombstone, with a change version from ChangeVersionSequence;
+ * both tables are indexed on it, so a page costs two range scans however large the table is.
+ * Pages stop at the sequence's visible horizon, so a version still held by an open transaction
+ * is never skipped: a client only moves past it once it has committed or rolled back
+ */
+@Service
+public class TeacherSyncService {
+    
+    @Autowired
+    private TeacherRepository teacherRepository;
+    
+    @Autowired
+    private TeacherTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private ChangeVersionSequence changeVersions;
+    
+    @Value("${teacher.sync.default-size:500}")
+    private int defaultPageSize;
+    
+    @Value("${teacher.sync.max-size:5000}")
+    private int maxPageSize;
+    
+    /**
+     * Highest change version a page can include right now
+     * Also moves when a write commits on another instance, so it keys cached responses
+     */
+    public long visibleHorizon() {
+        return changeVersions.visibleHorizon();
+    }
+    
+    /**
+     * Up to limit changes after since and no later than upTo, oldest first
+     * upTo comes from the primary, so run this on the primary too, e.g. via ReplicaRoutingDataSource.onPrimary
+     */
+    @Transactional(readOnly = true)
+    public TeacherChangePage changesSince(long since, long upTo, Integer limit) {
+        int pageSize = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        
+        // One extra row from each side shows whether anything is left after this page
+        List<Object[]> upserts = teacherRepository.findChangedSince(since, upTo, Limit.of(pageSize + 1));
+        List<Object[]> deletes = tombstoneRepository.findChangedSince(since, upTo, Limit.of(pageSize + 1));
+        
+        List<TeacherDTO> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long nextSince = since;
+        int u = 0;
+        int d = 0;
+        while (upserted.size() + deleted.size() < pageSize && (u < upserts.size() || d < deletes.size())) {
+            boolean takeUpsert = d >= deletes.size()
+                    || (u < upserts.size() && (Long) upserts.get(u)[0] < (Long) deletes.get(d)[0]);
+            if (takeUpsert) {
+                nextSince = (Long) upserts.get(u)[0];
+                upserted.add((TeacherDTO) upserts.get(u++)[1]);
+            } else {
+                nextSince = (Long) deletes.get(d)[0];
+                deleted.add((Long) deletes.get(d++)[1]);
+            }
+        }
+        boolean hasMore = u < upserts.size() || d < deletes.size();
+        return new TeacherChangePage(upserted, deleted, nextSince, hasMore);
+    }
+}
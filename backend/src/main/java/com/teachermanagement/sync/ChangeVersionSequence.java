@@ -0,0 +1,159 @@
+package com.teachermanagement.sync;
+
+import com.teachermanagement.repository.DatabasePlatform;
+import com.teachermanagement.service.TeacherDataVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out change versions for teacher rows and tombstones from a database sequence, one per write
+ * Versions are taken in the writing transaction, so they are not in commit order: a transaction can
+ * still be open holding a version below one that has already committed. Sync therefore only reads
+ * up to visibleHorizon, below which every version has either committed or been rolled back
+ */
+@Component
+public class ChangeVersionSequence {
+    
+    public static final String SEQUENCE = "teacher_change_seq";
+    
+    // The transaction id is assigned before the version is taken, which visibleHorizon relies on
+    private static final String NEXT_AFTER_XID = "WITH tx AS MATERIALIZED (SELECT pg_current_xact_id()) " +
+            "SELECT nextval('" + SEQUENCE + "') FROM tx, generate_series(1, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TeacherDataVersion dataVersion;
+    
+    @Autowired
+    private DatabasePlatform platform;
+    
+    private final ReentrantLock horizonLock = new ReentrantLock();
+    private final Deque<long[]> pendingHorizons = new ArrayDeque<>();
+    private volatile boolean created;
+    private long horizon;
+    
+    /**
+     * Next change version, from those reserved for the current transaction while any are left
+     */
+    public long next() {
+        @SuppressWarnings("unchecked")
+        Deque<Long> reserved = (Deque<Long>) TransactionSynchronizationManager.getResource(this);
+        if (reserved != null && !reserved.isEmpty()) {
+            return reserved.pollFirst();
+        }
+        return next(1).get(0);
+    }
+    
+    /**
+     * Take count versions in one round trip for the entity writes that follow in the current transaction
+     * TeacherChangeListener stamps each row through next(), so a bulk or import chunk reserves its
+     * versions up front instead of paying a round trip per row. Versions left unused are just gaps
+     */
+    public void reserve(int count) {
+        if (count < 1 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Deque<Long> reserved = (Deque<Long>) TransactionSynchronizationManager.getResource(this);
+        if (reserved == null) {
+            Deque<Long> versions = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(this, versions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeVersionSequence.this);
+                }
+            });
+            reserved = versions;
+        }
+        reserved.addAll(next(count));
+    }
+    
+    /**
+     * The given number of change versions in one round trip, in increasing order
+     */
+    public List<Long> next(int count) {
+        ensureSequence();
+        if (platform.isPostgres()) {
+            return jdbcTemplate.queryForList(NEXT_AFTER_XID, Long.class, count);
+        }
+        return jdbcTemplate.queryForList("SELECT nextval('" + SEQUENCE + "') FROM SYSTEM_RANGE(1, ?)",
+                Long.class, count);
+    }
+    
+    /**
+     * Highest version below which no transaction can still commit a change
+     * Samples the sequence, then the transactions running after it; a version at or below the sample
+     * belongs to a transaction that already had its id, so once the oldest running transaction is
+     * past those the sample is final. A quiet database settles at once; a long transaction holds the
+     * horizon back until it ends. Without PostgreSQL snapshots every allocated version counts as final
+     */
+    public long visibleHorizon() {
+        if (!platform.isPostgres()) {
+            return Long.MAX_VALUE;
+        }
+        Long last = jdbcTemplate.queryForObject("SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM " +
+                SEQUENCE, Long.class);
+        long[] snapshot = jdbcTemplate.queryForObject("SELECT pg_snapshot_xmin(s)::text::bigint, " +
+                        "pg_snapshot_xmax(s)::text::bigint FROM pg_current_snapshot() s",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+        horizonLock.lock();
+        try {
+            pendingHorizons.addLast(new long[] {last, snapshot[1]});
+            // Each sample settles on its own; one that arrived out of order just settles a little later
+            while (!pendingHorizons.isEmpty() && pendingHorizons.peekFirst()[1] <= snapshot[0]) {
+                horizon = Math.max(horizon, pendingHorizons.pollFirst()[0]);
+            }
+            // Keep the most recent samples only; while one transaction stays open, none of them settle
+            while (pendingHorizons.size() > 64) {
+                pendingHorizons.pollFirst();
+            }
+            return horizon;
+        } finally {
+            horizonLock.unlock();
+        }
+    }
+    
+    /**
+     * Give rows written before change versions existed a version, so the first sync picks them up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        ensureSequence();
+        int updated = platform.isPostgres()
+                ? jdbcTemplate.update("WITH tx AS MATERIALIZED (SELECT pg_current_xact_id()) " +
+                        "UPDATE teachers SET change_version = nextval('" + SEQUENCE + "'), " +
+                        "updated_at = CURRENT_TIMESTAMP FROM tx WHERE change_version IS NULL")
+                : jdbcTemplate.update("UPDATE teachers SET change_version = nextval('" + SEQUENCE + "'), " +
+                        "updated_at = CURRENT_TIMESTAMP WHERE change_version IS NULL");
+        if (updated > 0) {
+            // Sync responses cached before the backfill are now stale
+            dataVersion.increment();
+            System.out.println("Assigned change versions to " + updated + " existing teachers");
+        }
+    }
+    
+    /**
+     * Create the sequence if the database does not have it yet, for statements that call nextval themselves
+     */
+    public void ensureSequence() {
+        if (!created) {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE + " START WITH 1 INCREMENT BY 1");
+            // Earlier releases handed the sequence out in blocks of 50
+            jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " INCREMENT BY 1");
+            created = true;
+        }
+    }
+}
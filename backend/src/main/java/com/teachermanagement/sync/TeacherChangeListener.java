@@ -0,0 +1,28 @@
+package com.teachermanagement.sync;
+
+import com.teachermanagement.model.Teacher;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * JPA entity listener stamping a new change version and time on every inserted or updated teacher
+ * A Spring bean, which Hibernate gets from the application context, so it can use the sequence.
+ * Bulk writes reserve their chunk's versions first, so only single writes cost a round trip here
+ */
+@Component
+public class TeacherChangeListener {
+    
+    @Autowired
+    private ChangeVersionSequence changeVersions;
+    
+    @PrePersist
+    @PreUpdate
+    public void stamp(Teacher teacher) {
+        teacher.setChangeVersion(changeVersions.next());
+        teacher.setUpdatedAt(Instant.now());
+    }
+}
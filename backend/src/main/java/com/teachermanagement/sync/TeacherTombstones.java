@@ -0,0 +1,39 @@
+package com.teachermanagement.sync;
+
+import com.teachermanagement.model.TeacherTombstone;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Writes tombstones for deleted teachers, in the transaction that deletes them
+ */
+@Component
+public class TeacherTombstones {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ChangeVersionSequence changeVersions;
+    
+    /**
+     * Record the deletion of these teachers
+     * Persisted directly rather than through a repository save, which would first look each id up
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<Long> teacherIds) {
+        Instant now = Instant.now();
+        Iterator<Long> versions = changeVersions.next(teacherIds.size()).iterator();
+        for (Long teacherId : teacherIds) {
+            entityManager.persist(new TeacherTombstone(teacherId, versions.next(), now));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.teachermanagement.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teachermanagement.model.Teacher;
+import com.teachermanagement.support.TestPostgres;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plans PostgreSQL picks for the SQL Hibernate generates for the list, search and filter reads
+ * Each read runs once so its statement can be captured, then that statement is explained with the
+ * same arguments. Arguments are bound in the order the placeholders appear in the captured SQL
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.teachermanagement.repository.TeacherQueryPlanTest$LastStatement"
+})
+class TeacherQueryPlanTest {
+    
+    private static final int ROWS = 200_000;
+    
+    private static EmbeddedPostgres server;
+    
+    private static boolean seeded;
+    
+    @Autowired
+    private TeacherRepository teacherRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @BeforeAll
+    static void startDatabase() {
+        server = TestPostgres.start();
+    }
+    
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> TestPostgres.jdbcUrl(server));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+    
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        // 50 class counts and about 41 years of birth dates, so one value or one year is a few percent of rows
+        jdbcTemplate.update("INSERT INTO teachers (id, full_name, date_of_birth, number_of_classes, version) " +
+                "SELECT g, 'Teacher ' || md5(g::text), DATE '1960-01-01' + g % 15000, 1 + g % 50, 0 " +
+                "FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE teachers");
+        seeded = true;
+    }
+    
+    @Test
+    void keysetPageScansPrimaryKey() {
+        long after = ROWS / 2;
+        teacherRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(51));
+        
+        // Hibernate renders a Limit as "offset ? rows fetch first ? rows only"
+        assertIndexUsed("teachers_pkey", after, 0, 51);
+    }
+    
+    @Test
+    void nameSearchScansTrigramIndex() {
+        // What TeacherSearchService builds for a search for "c0ffe"
+        String pattern = "%c0ffe%";
+        teacherRepository.searchByLowerNamePattern(pattern, 0L, Limit.of(51));
+        
+        assertIndexUsed("idx_teachers_full_name_trgm", pattern, 0L, 0, 51);
+    }
+    
+    @Test
+    void classesFilterScansClassesIndex() {
+        Specification<Teacher> specification = Specification.where(TeacherSpecifications.minClasses(50))
+                .and(TeacherSpecifications.maxClasses(50));
+        // Unlimited, so the plan shows how the predicate is read, not a primary key walk that stops at a page
+        teacherRepository.findDTOs(specification, Limit.unlimited());
+        
+        assertIndexUsed("idx_teachers_classes_dob", 50, 50);
+    }
+    
+    @Test
+    void birthDateFilterScansBirthDateIndex() {
+        LocalDate from = LocalDate.of(1980, 1, 1);
+        LocalDate to = LocalDate.of(1980, 12, 31);
+        Specification<Teacher> specification = Specification.where(TeacherSpecifications.bornOnOrAfter(from))
+                .and(TeacherSpecifications.bornOnOrBefore(to));
+        teacherRepository.findDTOs(specification, Limit.unlimited());
+        
+        assertIndexUsed("idx_teachers_dob_classes", from, to);
+    }
+    
+    @Test
+    void classesRangeScansClassesIndex() {
+        teacherRepository.findByNumberOfClassesBetween(49, 50);
+        
+        assertIndexUsed("idx_teachers_classes_dob", 49, 50);
+    }
+    
+    /**
+     * Explain the statement the last repository call ran and check it reads through the index
+     */
+    private void assertIndexUsed(String index, Object... args) {
+        String sql = LastStatement.SQL.get();
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        List<String> scans = new ArrayList<>();
+        try {
+            collectIndexScans(objectMapper.readTree(json).get(0).get("Plan"), scans);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+        assertTrue(scans.contains(index), "Expected a scan on " + index + " for " + sql + " but got " + json);
+    }
+    
+    private static void collectIndexScans(JsonNode plan, List<String> scans) {
+        String nodeType = plan.path("Node Type").asText();
+        if (nodeType.equals("Index Scan") || nodeType.equals("Index Only Scan")
+                || nodeType.equals("Bitmap Index Scan")) {
+            scans.add(plan.path("Index Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectIndexScans(child, scans);
+        }
+    }
+    
+    /**
+     * Remembers the last SQL statement Hibernate prepared on each thread
+     */
+    public static class LastStatement implements StatementInspector {
+        
+        static final ThreadLocal<String> SQL = new ThreadLocal<>();
+        
+        @Override
+        public String inspect(String sql) {
+            SQL.set(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.teachermanagement.routing;
+
+import com.teachermanagement.service.TeacherDataVersion;
+import com.teachermanagement.support.TestPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing decisions of ReplicaRoutingDataSource against two local databases
+ * Each database holds a marker row naming it, so a query shows where it ran
+ */
+class ReplicaRoutingDataSourceTest {
+    
+    private static EmbeddedPostgres primaryServer;
+    private static EmbeddedPostgres replicaServer;
+    
+    private final List<AutoCloseable> opened = new ArrayList<>();
+    
+    @BeforeAll
+    static void startDatabases() {
+        primaryServer = TestPostgres.start();
+        replicaServer = TestPostgres.start();
+        mark(primaryServer, "primary");
+        mark(replicaServer, "replica");
+    }
+    
+    @AfterAll
+    static void stopDatabases() throws Exception {
+        if (primaryServer != null) {
+            primaryServer.close();
+        }
+        if (replicaServer != null) {
+            replicaServer.close();
+        }
+    }
+    
+    @AfterEach
+    void closePools() throws Exception {
+        ReplicaRoutingDataSource.unpin();
+        for (AutoCloseable closeable : opened) {
+            closeable.close();
+        }
+    }
+    
+    @Test
+    void readOnlyTransactionReadsFromReplica() {
+        Routing routing = routing(0);
+        routing.health.check();
+        
+        assertEquals("replica", routing.read(true));
+    }
+    
+    @Test
+    void writeTransactionUsesPrimary() {
+        Routing routing = routing(0);
+        routing.health.check();
+        
+        assertEquals("primary", routing.read(false));
+    }
+    
+    @Test
+    void pinnedRequestReadsFromPrimary() {
+        Routing routing = routing(0);
+        routing.health.check();
+        
+        ReplicaRoutingDataSource.pinToPrimary();
+        assertEquals("primary", routing.read(true));
+        ReplicaRoutingDataSource.unpin();
+        assertEquals("replica", routing.read(true));
+    }
+    
+    @Test
+    void onPrimaryReadsFromPrimaryAndKeepsExistingPin() {
+        Routing routing = routing(0);
+        routing.health.check();
+        
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> routing.read(true)));
+        assertEquals("replica", routing.read(true));
+        
+        ReplicaRoutingDataSource.pinToPrimary();
+        ReplicaRoutingDataSource.onPrimary(() -> routing.read(true));
+        assertEquals("primary", routing.read(true));
+    }
+    
+    @Test
+    void pinIsCarriedToAnotherThread() throws Exception {
+        Routing routing = routing(0);
+        routing.health.check();
+        
+        ReplicaRoutingDataSource.pinToPrimary();
+        String[] target = new String[1];
+        Thread thread = new Thread(ReplicaRoutingDataSource.propagate(() -> target[0] = routing.read(true)));
+        ReplicaRoutingDataSource.unpin();
+        thread.start();
+        thread.join();
+        
+        assertEquals("primary", target[0]);
+    }
+    
+    @Test
+    void readsStayOnPrimaryAfterLocalWrite() {
+        Routing routing = routing(60_000);
+        routing.health.check();
+        routing.dataVersion.increment();
+        
+        assertTrue(routing.health.isHealthy());
+        assertEquals("primary", routing.read(true));
+    }
+    
+    @Test
+    void uncheckedReplicaIsNotUsed() {
+        Routing routing = routing(0);
+        
+        assertFalse(routing.health.isHealthy());
+        assertEquals("primary", routing.read(true));
+    }
+    
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        // An independent database reports no lag, so a negative limit is the only way to exceed it
+        Routing routing = routing(-1);
+        routing.health.check();
+        
+        assertFalse(routing.health.isHealthy());
+        assertEquals("primary", routing.read(true));
+    }
+    
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        Routing routing = routing(0);
+        routing.health.check();
+        routing.replica.close();
+        
+        assertEquals("primary", routing.read(true));
+        assertFalse(routing.health.isHealthy());
+    }
+    
+    private Routing routing(long maxLagMs) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HikariDataSource primary = pool(primaryServer);
+        HikariDataSource replica = pool(replicaServer);
+        ReplicaHealth health = new ReplicaHealth(replica, maxLagMs, registry);
+        TeacherDataVersion dataVersion = new TeacherDataVersion();
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, replica, health, dataVersion, maxLagMs, registry);
+        opened.add(routing);
+        return new Routing(new LazyConnectionDataSourceProxy(routing), replica, health, dataVersion);
+    }
+    
+    private static HikariDataSource pool(EmbeddedPostgres server) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(TestPostgres.jdbcUrl(server));
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(1000);
+        return pool;
+    }
+    
+    private static void mark(EmbeddedPostgres server, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(server.getPostgresDatabase());
+        jdbcTemplate.execute("CREATE TABLE marker (name text)");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+    }
+    
+    private record Routing(DataSource dataSource, HikariDataSource replica, ReplicaHealth health,
+                           TeacherDataVersion dataVersion) {
+        
+        /**
+         * Name of the database a transaction with the given read-only flag reads from
+         */
+        String read(boolean readOnly) {
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            transaction.setReadOnly(readOnly);
+            return transaction.execute(status ->
+                    new JdbcTemplate(dataSource).queryForObject("SELECT name FROM marker", String.class));
+        }
+    }
+}
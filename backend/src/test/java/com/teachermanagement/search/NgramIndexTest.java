@@ -0,0 +1,72 @@
+package com.teachermanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Substring search against a small in-memory trigram index
+ */
+class NgramIndexTest {
+    
+    @Test
+    void findsSubstringsIgnoringCase() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Maria Garcia");
+        index.put(2, "Marco Polo");
+        index.put(3, "Anna MARIANNE");
+        
+        assertEquals(List.of(1L, 3L), index.search("MARI", 0, 10));
+        assertEquals(List.of(1L), index.search("a gar", 0, 10));
+        assertEquals(List.of(), index.search("xyz", 0, 10));
+    }
+    
+    @Test
+    void matchesNeedTheWholeTermNotJustItsTrigrams() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "abc bcd");
+        
+        assertEquals(List.of(), index.search("abcd", 0, 10));
+        assertEquals(List.of(1L), index.search("c bc", 0, 10));
+    }
+    
+    @Test
+    void pagesAfterIdUpToLimit() {
+        NgramIndex index = new NgramIndex();
+        for (long id = 1; id <= 10; id++) {
+            index.put(id, "Teacher " + id);
+        }
+        
+        assertEquals(List.of(1L, 2L, 3L), index.search("teach", 0, 3));
+        assertEquals(List.of(4L, 5L, 6L), index.search("teach", 3, 3));
+        assertEquals(List.of(10L), index.search("teach", 9, 3));
+        assertEquals(List.of(), index.search("teach", 10, 3));
+    }
+    
+    @Test
+    void putReplacesAndRemoveForgets() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Maria");
+        index.put(1, "Joan");
+        
+        assertEquals(List.of(), index.search("mar", 0, 10));
+        assertEquals(List.of(1L), index.search("joa", 0, 10));
+        assertEquals(1, index.size());
+        
+        index.remove(1);
+        assertEquals(List.of(), index.search("joa", 0, 10));
+        assertEquals(0, index.size());
+    }
+    
+    @Test
+    void termsShorterThanATrigramAreRejected() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Jo");
+        
+        assertEquals(3, NgramIndex.minimumTermLength());
+        assertThrows(IllegalArgumentException.class, () -> index.search("jo", 0, 10));
+    }
+}
@@ -0,0 +1,79 @@
+package com.teachermanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autocomplete lookups against a small in-memory trie
+ */
+class PrefixTrieTest {
+    
+    @Test
+    void earlierWordsEachNeedTheirOwnWord() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.put(1, "John");
+        trie.put(2, "John Jones");
+        trie.put(3, "Anna Anna");
+        trie.put(4, "Anna Smith");
+        
+        assertEquals(List.of(2L), ids(trie.suggest("jo jo", 10)));
+        assertEquals(List.of(3L), ids(trie.suggest("an an", 10)));
+        assertEquals(List.of(3L, 4L), ids(trie.suggest("anna", 10)));
+        assertEquals(List.of(), ids(trie.suggest("jo jo jo", 10)));
+    }
+    
+    @Test
+    void punctuationAndAccentsSplitAndFoldWords() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.put(1, "Seán O'Brien-Smith");
+        
+        assertEquals(List.of(1L), ids(trie.suggest("smi", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("o'b", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("SEAN, bri", 10)));
+        assertEquals("Seán O'Brien-Smith", trie.suggest("sean", 10).get(0).getValue());
+        assertEquals(List.of(), ids(trie.suggest("obrien", 10)));
+    }
+    
+    @Test
+    void emptyPrefixOrLimitReturnsNothing() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.put(1, "John");
+        
+        assertTrue(trie.suggest("", 10).isEmpty());
+        assertTrue(trie.suggest("  - ,", 10).isEmpty());
+        assertTrue(trie.suggest("jo", 0).isEmpty());
+    }
+    
+    @Test
+    void suggestionsFollowWordOrderUpToLimit() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.put(1, "Joy");
+        trie.put(2, "Joan");
+        trie.put(3, "John");
+        
+        assertEquals(List.of(2L, 3L, 1L), ids(trie.suggest("jo", 10)));
+        assertEquals(List.of(2L, 3L), ids(trie.suggest("jo", 2)));
+    }
+    
+    @Test
+    void putReplacesAndRemoveForgets() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.put(1, "Anna Anna");
+        trie.put(1, "Maria");
+        
+        assertTrue(trie.suggest("an", 10).isEmpty());
+        assertEquals(List.of(1L), ids(trie.suggest("mar", 10)));
+        
+        trie.remove(1);
+        assertTrue(trie.suggest("mar", 10).isEmpty());
+    }
+    
+    private static List<Long> ids(List<Map.Entry<Long, String>> suggestions) {
+        return suggestions.stream().map(Map.Entry::getKey).toList();
+    }
+}
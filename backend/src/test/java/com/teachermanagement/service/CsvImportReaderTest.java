@@ -0,0 +1,72 @@
+package com.teachermanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Parsing of CSV import files, read from memory
+ */
+class CsvImportReaderTest {
+    
+    @Test
+    void quotedCellsKeepCommasQuotesAndLineBreaks() throws Exception {
+        List<List<String>> rows = read("fullName,dateOfBirth,numberOfClasses\n" +
+                "\"Smith, John\",1980-01-01,3\n" +
+                "\"Anna \"\"Ann\"\" Lee\",1990-02-03,\"4\"\n" +
+                "\"Line\nBreak\",,\n");
+        
+        assertEquals(List.of(
+                List.of("fullName", "dateOfBirth", "numberOfClasses"),
+                List.of("Smith, John", "1980-01-01", "3"),
+                List.of("Anna \"Ann\" Lee", "1990-02-03", "4"),
+                List.of("Line\nBreak", "", "")), rows);
+    }
+    
+    @Test
+    void crlfAndCrEndRows() throws Exception {
+        List<List<String>> rows = read("a,b\r\nc,d\re,f\r\n\"g\r\nh\",i\r\n");
+        
+        assertEquals(List.of(
+                List.of("a", "b"),
+                List.of("c", "d"),
+                List.of("e", "f"),
+                List.of("g\r\nh", "i")), rows);
+    }
+    
+    @Test
+    void crlfSplitAcrossBufferRefill() throws Exception {
+        // The first row ends with \r as the last character of the 64K read buffer
+        String longCell = "x".repeat(64 * 1024 - 1);
+        List<List<String>> rows = read(longCell + "\r\nnext,row\r\n");
+        
+        assertEquals(List.of(List.of(longCell), List.of("next", "row")), rows);
+    }
+    
+    @Test
+    void byteOrderMarkIsDroppedAndLastRowNeedsNoLineBreak() throws Exception {
+        List<Long> rowNumbers = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        byte[] csv = "\uFEFFfullName,numberOfClasses\nJoan,2".getBytes(StandardCharsets.UTF_8);
+        new CsvImportReader(new ByteArrayInputStream(csv))
+                .forEachRow((rowNumber, cells) -> {
+                    rowNumbers.add(rowNumber);
+                    rows.add(cells);
+                });
+        
+        assertEquals(List.of(1L, 2L), rowNumbers);
+        assertEquals(List.of(List.of("fullName", "numberOfClasses"), List.of("Joan", "2")), rows);
+    }
+    
+    private static List<List<String>> read(String csv) throws Exception {
+        List<List<String>> rows = new ArrayList<>();
+        new CsvImportReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .forEachRow((rowNumber, cells) -> rows.add(cells));
+        return rows;
+    }
+}
@@ -0,0 +1,119 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.support.TestPostgres;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent PATCHes of the same rows, checked against the in-memory statistics
+ * Each PATCH moves a teacher out of its old histogram bucket, so a stale before image
+ * leaves the aggregates apart from COUNT and AVG over the table
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class TeacherPatchStatisticsTest {
+    
+    private static final int TEACHERS = 4;
+    private static final int WRITERS = 8;
+    private static final int PATCHES_EACH = 50;
+    
+    private static EmbeddedPostgres server;
+    
+    @Autowired
+    private TeacherService teacherService;
+    
+    @Autowired
+    private TeacherStatisticsEngine statisticsEngine;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeAll
+    static void startDatabase() {
+        server = TestPostgres.start();
+    }
+    
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> TestPostgres.jdbcUrl(server));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+    
+    @Test
+    void concurrentPatchesKeepStatisticsExact() throws Exception {
+        long[] ids = new long[TEACHERS];
+        for (int i = 0; i < TEACHERS; i++) {
+            ids[i] = teacherService.createTeacher(
+                    new TeacherDTO(null, "Teacher " + i, LocalDate.of(1980, 1, 1), 1)).getId();
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] running = new Future<?>[WRITERS];
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                running[w] = executor.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < PATCHES_EACH; n++) {
+                        TeacherDTO changes = new TeacherDTO();
+                        changes.setNumberOfClasses(1 + (writer * PATCHES_EACH + n) % 50);
+                        changes.setDateOfBirth(LocalDate.of(1950 + (writer + n) % 40, 1, 1));
+                        teacherService.patchTeacher(ids[n % TEACHERS], changes, null);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> writer : running) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM teachers", Long.class),
+                statisticsEngine.getCount());
+        assertEquals(jdbcTemplate.queryForObject("SELECT AVG(number_of_classes) FROM teachers", Double.class),
+                statisticsEngine.getAverageClasses(), 1e-9);
+        
+        Map<Integer, Long> classes = new HashMap<>();
+        jdbcTemplate.query("SELECT number_of_classes, COUNT(*) FROM teachers GROUP BY number_of_classes",
+                rs -> {
+                    classes.put(rs.getInt(1), rs.getLong(2));
+                });
+        statisticsEngine.getClassesHistogram().forEach((bucket, teachers) ->
+                assertEquals(classes.getOrDefault(bucket, 0L), teachers, "Teachers with " + bucket + " classes"));
+        
+        // A reload from the table is the reference for the age buckets
+        Map<Integer, Long> ages = statisticsEngine.getAgeHistogram();
+        statisticsEngine.reconcile();
+        assertEquals(statisticsEngine.getAgeHistogram(), ages);
+    }
+}
@@ -0,0 +1,69 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.support.TestPostgres;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Start-up of the pg_trgm search path against an index a failed concurrent build left invalid
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class TeacherSearchServiceTest {
+    
+    private static final String INDEX_STATE = "SELECT i.indexrelid::bigint, i.indisvalid FROM pg_index i " +
+            "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = 'idx_teachers_full_name_trgm'";
+    
+    private static EmbeddedPostgres server;
+    
+    @Autowired
+    private TeacherSearchService searchService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeAll
+    static void startDatabase() {
+        server = TestPostgres.start();
+    }
+    
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> TestPostgres.jdbcUrl(server));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+    
+    @Test
+    void invalidTrigramIndexIsRebuilt() {
+        assertEquals(TeacherSearchService.Mode.TRIGRAM, searchService.getMode());
+        long before = jdbcTemplate.queryForObject(INDEX_STATE, (rs, rowNum) -> rs.getLong(1));
+        // What an interrupted CREATE INDEX CONCURRENTLY leaves behind
+        jdbcTemplate.update("UPDATE pg_index SET indisvalid = false WHERE indexrelid = ?::oid", before);
+        
+        searchService.initialize();
+        
+        assertEquals(TeacherSearchService.Mode.TRIGRAM, searchService.getMode());
+        long after = jdbcTemplate.queryForObject(INDEX_STATE, (rs, rowNum) -> rs.getLong(1));
+        assertNotEquals(before, after, "The invalid index should have been dropped and built again");
+        Boolean valid = jdbcTemplate.queryForObject(INDEX_STATE, (rs, rowNum) -> rs.getBoolean(2));
+        assertTrue(valid);
+    }
+}
@@ -0,0 +1,29 @@
+package com.teachermanagement.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Assumptions;
+
+import java.io.IOException;
+
+/**
+ * Embedded PostgreSQL servers for tests that need the real database
+ * Like Testcontainers tests without Docker, a test is skipped rather than failed when the server
+ * cannot start here, e.g. on a platform without bundled PostgreSQL binaries
+ */
+public final class TestPostgres {
+    
+    private TestPostgres() {
+    }
+    
+    public static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException | RuntimeException e) {
+            return Assumptions.abort("Embedded PostgreSQL unavailable: " + e.getMessage());
+        }
+    }
+    
+    public static String jdbcUrl(EmbeddedPostgres postgres) {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+}
@@ -0,0 +1,215 @@
+package com.teachermanagement.sync;
+
+import com.teachermanagement.dto.TeacherChangePage;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.service.TeacherService;
+import com.teachermanagement.service.TeacherSyncService;
+import com.teachermanagement.support.TestPostgres;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two writers whose change versions are taken in one order and committed in the other
+ * A sync client must not move past the first writer's version while it is still open,
+ * and must see both writes once it has committed
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ChangeVersionInterleavingTest {
+    
+    private static EmbeddedPostgres server;
+    
+    private static final AtomicLong nextId = new AtomicLong(1_000_000);
+    
+    // Advisory lock key the first writer waits on
+    private static final long HOLD = 4242;
+    
+    @Autowired
+    private TeacherService teacherService;
+    
+    @Autowired
+    private TeacherSyncService syncService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @BeforeAll
+    static void startDatabase() {
+        server = TestPostgres.start();
+    }
+    
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> TestPostgres.jdbcUrl(server));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+    
+    @Test
+    void openWriterHoldsHorizonBelowLaterCommit() throws Exception {
+        long first = insertTeacher("First");
+        long second = insertTeacher("Second");
+        long since = syncService.visibleHorizon();
+        
+        // Writer A takes its version, then waits in this trigger with its transaction open
+        jdbcTemplate.execute("CREATE FUNCTION hold_writer() RETURNS trigger LANGUAGE plpgsql AS " +
+                "$$ BEGIN PERFORM pg_advisory_xact_lock_shared(" + HOLD + "); RETURN NULL; END $$");
+        jdbcTemplate.execute("CREATE TRIGGER hold_writer AFTER UPDATE ON teachers FOR EACH ROW " +
+                "WHEN (NEW.id = " + first + ") EXECUTE FUNCTION hold_writer()");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection locker = dataSource.getConnection()) {
+            locker.setAutoCommit(false);
+            try (Statement statement = locker.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(" + HOLD + ")");
+            }
+            Future<?> writerA = executor.submit(() -> teacherService.patchTeacher(first, named("Writer A"), null));
+            awaitBlockedUpdate();
+            
+            // Writer B takes the next version and commits first
+            teacherService.patchTeacher(second, named("Writer B"), null);
+            long versionB = changeVersion(second);
+            assertTrue(syncService.visibleHorizon() < versionB,
+                    "Horizon moved past writer B while writer A was still open");
+            
+            locker.commit();
+            writerA.get(10, TimeUnit.SECONDS);
+            assertTrue(changeVersion(first) < versionB, "Writer A should hold the earlier version");
+        } finally {
+            executor.shutdownNow();
+            jdbcTemplate.execute("DROP TRIGGER hold_writer ON teachers");
+            jdbcTemplate.execute("DROP FUNCTION hold_writer()");
+        }
+        
+        Map<Long, String> seen = sync(since);
+        assertEquals("Writer A", seen.get(first));
+        assertEquals("Writer B", seen.get(second));
+    }
+    
+    @Test
+    void concurrentWritersAreNeverSkipped() throws Exception {
+        int writers = 4;
+        int writesEach = 50;
+        long since = syncService.visibleHorizon();
+        long[] ids = new long[writers];
+        for (int i = 0; i < writers; i++) {
+            ids[i] = insertTeacher("Writer " + i);
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        Map<Long, String> seen = new HashMap<>();
+        try {
+            Future<?>[] running = new Future<?>[writers];
+            for (int i = 0; i < writers; i++) {
+                long id = ids[i];
+                running[i] = executor.submit(() -> {
+                    for (int n = 1; n <= writesEach; n++) {
+                        teacherService.patchTeacher(id, named("Write " + n), null);
+                    }
+                });
+            }
+            // Sync while the writers run, like a client polling /changes
+            boolean done = false;
+            while (!done) {
+                since = page(since, seen);
+                done = true;
+                for (Future<?> writer : running) {
+                    done &= writer.isDone();
+                }
+            }
+            for (Future<?> writer : running) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        seen.putAll(sync(since));
+        
+        for (long id : ids) {
+            assertEquals("Write " + writesEach, seen.get(id), "Client missed the last write to teacher " + id);
+        }
+    }
+    
+    // Ids well clear of the ones Hibernate hands out from teachers_seq
+    private long insertTeacher(String name) {
+        long id = nextId.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO teachers (id, full_name, date_of_birth, number_of_classes, version, " +
+                "change_version, updated_at) VALUES (?, ?, ?, 1, 0, nextval('" + ChangeVersionSequence.SEQUENCE +
+                "'), CURRENT_TIMESTAMP)", id, name, LocalDate.of(1980, 1, 1));
+        return id;
+    }
+    
+    private long changeVersion(long id) {
+        return jdbcTemplate.queryForObject("SELECT change_version FROM teachers WHERE id = ?", Long.class, id);
+    }
+    
+    private void awaitBlockedUpdate() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            Integer waiting = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity " +
+                    "WHERE wait_event_type = 'Lock' AND query LIKE '%UPDATE teachers%'", Integer.class);
+            if (waiting > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Writer A never blocked in the trigger");
+    }
+    
+    // Pages from since until the client is caught up with the horizon, keeping the latest name per teacher
+    private Map<Long, String> sync(long since) {
+        Map<Long, String> seen = new HashMap<>();
+        long before;
+        do {
+            before = since;
+            since = page(since, seen);
+        } while (since != before);
+        return seen;
+    }
+    
+    private long page(long since, Map<Long, String> seen) {
+        TeacherChangePage page = syncService.changesSince(since, syncService.visibleHorizon(), 100);
+        for (TeacherDTO teacher : page.getUpserted()) {
+            seen.put(teacher.getId(), teacher.getFullName());
+        }
+        List<Long> deleted = page.getDeleted();
+        deleted.forEach(seen::remove);
+        return page.getNextSince();
+    }
+    
+    private static TeacherDTO named(String name) {
+        TeacherDTO changes = new TeacherDTO();
+        changes.setFullName(name);
+        return changes;
+    }
+}
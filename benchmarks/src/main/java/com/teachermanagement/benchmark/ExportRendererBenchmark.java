@@ -0,0 +1,56 @@
+package com.teachermanagement.benchmark;
+
+import com.teachermanagement.service.CountingOutputStream;
+import com.teachermanagement.service.ExcelExportWriter;
+import com.teachermanagement.service.PdfExportWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the streaming export renderers ExportService uses, without the database
+ * Rows are generated one at a time like the DB cursor; peak heap per iteration is printed on teardown
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class ExportRendererBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Setup(Level.Iteration)
+    public void resetHeapPeak() {
+        HeapPeak.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportHeapPeak() {
+        System.out.printf("%n[peak heap] rows=%d: %.1f MB%n", rows, HeapPeak.peakMb());
+    }
+
+    @Benchmark
+    public long pdf() {
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        try (PdfExportWriter writer = new PdfExportWriter(out)) {
+            TeacherDataset.forEach(rows, writer::writeRow);
+            writer.finish();
+        }
+        return out.getCount();
+    }
+
+    @Benchmark
+    public long excel() throws IOException {
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        try (ExcelExportWriter writer = new ExcelExportWriter()) {
+            TeacherDataset.forEach(rows, writer::writeRow);
+            writer.finish(out);
+        }
+        return out.getCount();
+    }
+}
@@ -0,0 +1,40 @@
+package com.teachermanagement.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Tracks peak heap usage across all heap memory pools
+ * JMH's gc profiler reports allocation rate, not how high the heap climbs,
+ * so benchmarks reset the pool peaks before an iteration and read them after
+ */
+public final class HeapPeak {
+
+    private HeapPeak() {}
+
+    /**
+     * Collect garbage and reset the peak of every heap pool
+     */
+    public static void reset() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Sum of the heap pool peaks since the last reset, in MB
+     */
+    public static double peakMb() {
+        long bytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                bytes += pool.getPeakUsage().getUsed();
+            }
+        }
+        return bytes / (1024.0 * 1024.0);
+    }
+}
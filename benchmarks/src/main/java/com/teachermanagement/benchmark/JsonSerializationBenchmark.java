@@ -0,0 +1,67 @@
+package com.teachermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherPage;
+import com.teachermanagement.service.CountingOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of the list endpoint bodies
+ * The mapper is built the way Spring Boot builds the one the controllers use
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<TeacherDTO> teachers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        teachers = TeacherDataset.list(rows);
+    }
+
+    /**
+     * Every row as one JSON array, like the /filter/age and /filter/classes responses
+     */
+    @Benchmark
+    public long list() throws IOException {
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        objectMapper.writeValue(out, teachers);
+        return out.getCount();
+    }
+
+    /**
+     * Every row as consecutive default-size pages, like a client walking GET /api/teachers
+     */
+    @Benchmark
+    public long pages() throws IOException {
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        for (int from = 0; from < teachers.size(); from += PAGE_SIZE) {
+            List<TeacherDTO> items = teachers.subList(from, Math.min(from + PAGE_SIZE, teachers.size()));
+            Long nextCursor = from + PAGE_SIZE < teachers.size() ? items.get(items.size() - 1).getId() : null;
+            objectMapper.writeValue(out, new TeacherPage(items, nextCursor, PAGE_SIZE));
+        }
+        return out.getCount();
+    }
+}
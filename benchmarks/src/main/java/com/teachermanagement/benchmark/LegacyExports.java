@@ -0,0 +1,69 @@
+package com.teachermanagement.benchmark;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.teachermanagement.dto.TeacherDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * The original fully in-memory export renderers, kept only as a baseline
+ * for comparing against the streaming writers in the backend
+ */
+public final class LegacyExports {
+
+    private LegacyExports() {}
+
+    /**
+     * One iText table holding every row, rendered into a byte array
+     */
+    public static byte[] exportToPDF(List<TeacherDTO> teachers) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfWriter writer = new PdfWriter(baos);
+        PdfDocument pdf = new PdfDocument(writer);
+        Document document = new Document(pdf);
+
+        document.add(new Paragraph("Teacher Management System - Teachers Report")
+                .setFontSize(18)
+                .setBold()
+                .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph(" "));
+
+        Table table = new Table(new float[]{1, 3, 2, 2, 2});
+        table.setWidth(100);
+        table.addHeaderCell(new Cell().add(new Paragraph("ID").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Full Name").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Age").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Date of Birth").setBold()));
+        table.addHeaderCell(new Cell().add(new Paragraph("Number of Classes").setBold()));
+
+        for (TeacherDTO teacher : teachers) {
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getId()))));
+            table.addCell(new Cell().add(new Paragraph(teacher.getFullName())));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getAge()))));
+            table.addCell(new Cell().add(new Paragraph(teacher.getDateOfBirth().toString())));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(teacher.getNumberOfClasses()))));
+        }
+        document.add(table);
+
+        document.add(new Paragraph(" "));
+        document.add(new Paragraph("Total Teachers: " + teachers.size()).setBold());
+        if (!teachers.isEmpty()) {
+            double avgClasses = teachers.stream()
+                    .mapToInt(TeacherDTO::getNumberOfClasses)
+                    .average()
+                    .orElse(0.0);
+            document.add(new Paragraph("Average Classes per Teacher: " +
+                    String.format("%.2f", avgClasses)).setBold());
+        }
+        document.close();
+
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package com.teachermanagement.benchmark;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.service.CountingOutputStream;
+import com.teachermanagement.service.PdfExportWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original in-memory PDF export with the streaming large-table writer
+ * Run with -prof gc for allocation rates; peak heap per iteration is printed on teardown
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class PdfExportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    @Setup(Level.Iteration)
+    public void resetHeapPeak() {
+        HeapPeak.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportHeapPeak() {
+        System.out.printf("%n[peak heap] rows=%d: %.1f MB%n", rows, HeapPeak.peakMb());
+    }
+
+    /**
+     * Baseline: materialize the list, render one big table into a byte array
+     */
+    @Benchmark
+    public byte[] inMemory() {
+        List<TeacherDTO> teachers = TeacherDataset.list(rows);
+        return LegacyExports.exportToPDF(teachers);
+    }
+
+    /**
+     * Streaming: rows arrive one at a time and are flushed in chunks to the output
+     */
+    @Benchmark
+    public long streaming() {
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        try (PdfExportWriter writer = new PdfExportWriter(out)) {
+            TeacherDataset.forEach(rows, writer::writeRow);
+            writer.finish();
+        }
+        return out.getCount();
+    }
+}
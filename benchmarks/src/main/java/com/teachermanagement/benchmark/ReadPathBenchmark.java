@@ -0,0 +1,125 @@
+package com.teachermanagement.benchmark;
+
+import com.teachermanagement.TeacherManagementApplication;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.model.Teacher;
+import com.teachermanagement.repository.TeacherRepository;
+import com.teachermanagement.service.TeacherBulkService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a page of teachers as entities then copying them into DTOs
+ * with selecting straight into DTOs through a JPQL constructor expression
+ * Runs against the real JPA setup on an in-memory H2 database; use -prof gc and
+ * compare gc.alloc.rate.norm (bytes per page read)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+
+    private static final int ROWS = 20000;
+
+    private static final String ENTITY_QUERY =
+            "SELECT t FROM Teacher t WHERE t.id > :afterId ORDER BY t.id ASC";
+    private static final String PROJECTION_QUERY =
+            "SELECT " + TeacherRepository.AS_DTO + " FROM Teacher t WHERE t.id > :afterId ORDER BY t.id ASC";
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(TeacherManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they override the Postgres settings in application.yml
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.teachermanagement=WARN");
+
+        EntityManagerFactory factory = context.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(factory);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        context.getBean(TeacherBulkService.class).createTeachers(TeacherDataset.list(ROWS));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Previous path: managed entities in a read-write transaction, with dirty-check snapshots, then copied
+     */
+    @Benchmark
+    public List<TeacherDTO> entitiesReadWrite() {
+        return readWrite.execute(status -> toDTOs(loadEntities()));
+    }
+
+    /**
+     * Previous path as Spring Data ran it: read-only entities (no snapshots), still hydrated and copied
+     */
+    @Benchmark
+    public List<TeacherDTO> entitiesReadOnly() {
+        return readOnly.execute(status -> toDTOs(loadEntities()));
+    }
+
+    /**
+     * New path: rows go straight into DTOs, nothing enters the persistence context
+     */
+    @Benchmark
+    public List<TeacherDTO> projection() {
+        return readOnly.execute(status -> entityManager.createQuery(PROJECTION_QUERY, TeacherDTO.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(pageSize)
+                .getResultList());
+    }
+
+    private List<Teacher> loadEntities() {
+        return entityManager.createQuery(ENTITY_QUERY, Teacher.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+
+    private static List<TeacherDTO> toDTOs(List<Teacher> teachers) {
+        List<TeacherDTO> dtos = new ArrayList<>(teachers.size());
+        for (Teacher teacher : teachers) {
+            dtos.add(new TeacherDTO(teacher.getId(), teacher.getFullName(), teacher.getDateOfBirth(),
+                    teacher.getNumberOfClasses(), teacher.getAge()));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,64 @@
+package com.teachermanagement.benchmark;
+
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.model.Teacher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic synthetic teachers for benchmarks
+ * The same seed always yields the same rows, so runs are comparable
+ */
+public final class TeacherDataset {
+
+    private static final String[] FIRST_NAMES = {
+            "Anita", "Ravi", "Maria", "John", "Priya", "Ahmed", "Chen", "Olga", "Kwame", "Sofia"
+    };
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Garcia", "Smith", "Okafor", "Ivanova", "Nakamura", "Reddy", "Muller", "Silva", "Khan"
+    };
+
+    private TeacherDataset() {}
+
+    /**
+     * Generate rows one at a time without holding them, like a DB cursor
+     */
+    public static void forEach(int rows, Consumer<TeacherDTO> sink) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= rows; i++) {
+            LocalDate dateOfBirth = today.minusDays(22 * 365 + random.nextInt(40 * 365));
+            String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            int numberOfClasses = 1 + random.nextInt(50);
+            int age = today.getYear() - dateOfBirth.getYear();
+            sink.accept(new TeacherDTO((long) i, fullName, dateOfBirth, numberOfClasses, age));
+        }
+    }
+
+    /**
+     * Generate all rows into a list, like findAll()
+     */
+    public static List<TeacherDTO> list(int rows) {
+        List<TeacherDTO> teachers = new ArrayList<>(rows);
+        forEach(rows, teachers::add);
+        return teachers;
+    }
+
+    /**
+     * Generate the same rows as entities, like a findAll() before DTO mapping
+     */
+    public static List<Teacher> entities(int rows) {
+        List<Teacher> teachers = new ArrayList<>(rows);
+        forEach(rows, dto -> {
+            Teacher teacher = new Teacher(dto.getFullName(), dto.getDateOfBirth(), dto.getNumberOfClasses());
+            teacher.setId(dto.getId());
+            teachers.add(teacher);
+        });
+        return teachers;
+    }
+}
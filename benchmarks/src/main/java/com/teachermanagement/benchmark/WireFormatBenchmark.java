@@ -0,0 +1,89 @@
+package com.teachermanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.teachermanagement.config.ColumnarTeacherConverter;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.dto.TeacherPage;
+import com.teachermanagement.service.CountingOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the response encodings a client can negotiate for a page of teachers:
+ * CPU per serialization here, payload size printed once per trial
+ * The gzip variants stand in for the container's response compression
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"50", "500"})
+    public int rows;
+
+    @Param({"json", "smile", "cbor", "columnar", "json-gzip", "smile-gzip", "columnar-gzip"})
+    public String format;
+
+    private TeacherPage page;
+    private ObjectMapper mapper;
+    private ColumnarTeacherConverter columnar;
+    private boolean gzip;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<TeacherDTO> teachers = TeacherDataset.list(rows);
+        page = new TeacherPage(teachers, teachers.get(teachers.size() - 1).getId(), rows);
+        gzip = format.endsWith("-gzip");
+        String encoding = gzip ? format.substring(0, format.length() - "-gzip".length()) : format;
+
+        // Built the way WireFormatConfig builds them, from Boot's JSON settings
+        ObjectMapper json = mapper(new JsonFactory());
+        switch (encoding) {
+            case "smile" -> mapper = mapper(new SmileFactory());
+            case "cbor" -> mapper = mapper(new CBORFactory());
+            case "columnar" -> columnar = new ColumnarTeacherConverter(json.getFactory());
+            default -> mapper = json;
+        }
+
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        serialize(out);
+        System.out.printf("%n[payload] format=%s rows=%d: %d bytes%n", format, rows, out.getCount());
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        serialize(out);
+        return out.getCount();
+    }
+
+    private void serialize(CountingOutputStream counting) throws IOException {
+        OutputStream out = gzip ? new GZIPOutputStream(counting) : counting;
+        if (columnar != null) {
+            columnar.writeColumnar(page, out);
+        } else {
+            mapper.writeValue(out, page);
+        }
+        out.close();
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
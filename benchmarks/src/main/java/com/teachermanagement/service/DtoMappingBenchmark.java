@@ -0,0 +1,52 @@
+package com.teachermanagement.service;
+
+import com.teachermanagement.benchmark.TeacherDataset;
+import com.teachermanagement.dto.TeacherDTO;
+import com.teachermanagement.model.Teacher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures entity to DTO mapping over a whole dataset
+ * Lives in the service package because TeacherService.convertToDTO is package-private
+ * Teacher.getAge is measured on its own since it reads the clock and builds a Period per row
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private final TeacherService teacherService = new TeacherService();
+    private List<Teacher> teachers;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        teachers = TeacherDataset.entities(rows);
+    }
+
+    @Benchmark
+    public List<TeacherDTO> convertToDTO() {
+        List<TeacherDTO> dtos = new ArrayList<>(teachers.size());
+        for (Teacher teacher : teachers) {
+            dtos.add(teacherService.convertToDTO(teacher));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public void getAge(Blackhole blackhole) {
+        for (Teacher teacher : teachers) {
+            blackhole.consume(teacher.getAge());
+        }
+    }
+}
@@ -1,4 +1,6 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
+import { Observable, Subject, Subscription, of } from 'rxjs';
+import { catchError, debounceTime, distinctUntilChanged, switchMap } from 'rxjs/operators';
 import { CommonModule } from '@angular/common';
 import { RouterModule } from '@angular/router';
 import { FormsModule } from '@angular/forms';
@@ -7,11 +9,12 @@ import { MatButtonModule } from '@angular/material/button';
 import { MatIconModule } from '@angular/material/icon';
 import { MatInputModule } from '@angular/material/input';
 import { MatFormFieldModule } from '@angular/material/form-field';
+import { MatAutocompleteModule, MatAutocompleteSelectedEvent } from '@angular/material/autocomplete';
 import { MatTableModule } from '@angular/material/table';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { MatSnackBar, MatSnackBarModule } from '@angular/material/snack-bar';
-import { TeacherService } from '../../services/teacher.service';
-import { Teacher, FilterCriteria } from '../../models/teacher.model';
+import { TeacherService, applyTeacherChange } from '../../services/teacher.service';
+import { Teacher, TeacherChange, TeacherPage, TeacherSuggestion, FilterCriteria } from '../../models/teacher.model';
 
 /**
  * Component for displaying and managing the list of teachers
@@ -28,6 +31,7 @@ import { Teacher, FilterCriteria } from '../../models/teacher.model';
     MatIconModule,
     MatInputModule,
     MatFormFieldModule,
+    MatAutocompleteModule,
     MatTableModule,
     MatProgressSpinnerModule,
     MatSnackBarModule
@@ -35,13 +39,24 @@ import { Teacher, FilterCriteria } from '../../models/teacher.model';
   templateUrl: './teacher-list.component.html',
   styleUrls: ['./teacher-list.component.css']
 })
-export class TeacherListComponent implements OnInit {
+export class TeacherListComponent implements OnInit, OnDestroy {
   teachers: Teacher[] = [];
   filteredTeachers: Teacher[] = [];
   loading = false;
   
+  // Keyset pagination state for the query currently on screen
+  nextCursor: number | null = null;
+  private pageSource: (after?: number | null) => Observable<TeacherPage> =
+    (after) => this.teacherService.getAllTeachers(after);
+  
   // Search and filter properties
   searchTerm = '';
+  suggestions: TeacherSuggestion[] = [];
+  private searchInput = new Subject<string>();
+  private suggestSubscription?: Subscription;
+  private changesSubscription?: Subscription;
+  // Created teachers can be appended locally only on the plain list; a search or filter might not match them
+  private showingAll = true;
   minAge: number | null = null;
   maxAge: number | null = null;
   minClasses: number | null = null;
@@ -57,17 +72,61 @@ export class TeacherListComponent implements OnInit {
 
   ngOnInit(): void {
     this.loadTeachers();
+    
+    // Suggestions come from the autocomplete endpoint; the full search runs on Enter
+    this.suggestSubscription = this.searchInput.pipe(
+      debounceTime(100),
+      distinctUntilChanged(),
+      switchMap(prefix => prefix.trim()
+        ? this.teacherService.suggestTeachers(prefix).pipe(catchError(() => of([])))
+        : of([]))
+    ).subscribe(suggestions => this.suggestions = suggestions);
+    
+    this.changesSubscription = this.teacherService.changes$.subscribe(change => this.applyChange(change));
+  }
+
+  ngOnDestroy(): void {
+    this.suggestSubscription?.unsubscribe();
+    this.changesSubscription?.unsubscribe();
+  }
+
+  /**
+   * Patch the rows on screen from the change feed and this client's own writes instead of reloading them
+   */
+  private applyChange(change: TeacherChange): void {
+    if (change.type === 'RESYNC') {
+      this.reload();
+    } else {
+      // New ids sort last, so they are only visible once every page has been loaded
+      this.filteredTeachers = applyTeacherChange(this.filteredTeachers, change, this.showingAll && this.nextCursor == null);
+    }
   }
 
   /**
-   * Load all teachers
+   * Fetch the first page of the current list, search or filter again
+   */
+  private reload(): void {
+    this.pageSource().subscribe({
+      next: (page) => {
+        this.filteredTeachers = page.items;
+        this.nextCursor = page.nextCursor;
+      },
+      error: (error) => console.error('Error reloading teachers:', error)
+    });
+  }
+
+  /**
+   * Load the first page of teachers
    */
   loadTeachers(): void {
     this.loading = true;
-    this.teacherService.getAllTeachers().subscribe({
-      next: (teachers) => {
-        this.teachers = teachers;
-        this.filteredTeachers = teachers;
+    this.showingAll = true;
+    this.pageSource = (after) => this.teacherService.getAllTeachers(after);
+    this.pageSource().subscribe({
+      next: (page) => {
+        this.teachers = page.items;
+        this.filteredTeachers = page.items;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (error) => {
@@ -78,14 +137,36 @@ export class TeacherListComponent implements OnInit {
     });
   }
 
+  /**
+   * Update suggestions as the user types; reload the list once the box is cleared
+   */
+  onSearchInput(): void {
+    this.searchInput.next(this.searchTerm);
+    if (!this.searchTerm.trim()) {
+      this.loadTeachers();
+    }
+  }
+
+  /**
+   * Search for the picked suggestion
+   */
+  onSuggestionSelected(event: MatAutocompleteSelectedEvent): void {
+    this.searchTerm = event.option.value;
+    this.onSearch();
+  }
+
   /**
    * Search teachers by name
    */
   onSearch(): void {
     if (this.searchTerm.trim()) {
-      this.teacherService.searchTeachers(this.searchTerm).subscribe({
-        next: (teachers) => {
-          this.filteredTeachers = teachers;
+      const query = this.searchTerm;
+      this.showingAll = false;
+      this.pageSource = (after) => this.teacherService.searchTeachers(query, after);
+      this.pageSource().subscribe({
+        next: (page) => {
+          this.filteredTeachers = page.items;
+          this.nextCursor = page.nextCursor;
         },
         error: (error) => {
           console.error('Error searching teachers:', error);
@@ -93,7 +174,7 @@ export class TeacherListComponent implements OnInit {
         }
       });
     } else {
-      this.filteredTeachers = this.teachers;
+      this.loadTeachers();
     }
   }
 
@@ -109,10 +190,14 @@ export class TeacherListComponent implements OnInit {
       maxClasses: this.maxClasses || undefined
     };
 
-    this.teacherService.filterTeachers(criteria).subscribe({
-      next: (teachers) => {
-        this.filteredTeachers = teachers;
-        this.showMessage(`Found ${teachers.length} teachers`, 'success');
+    this.showingAll = false;
+    this.pageSource = (after) => this.teacherService.filterTeachers(criteria, after);
+    this.pageSource().subscribe({
+      next: (page) => {
+        this.filteredTeachers = page.items;
+        this.nextCursor = page.nextCursor;
+        const more = page.nextCursor != null ? '+' : '';
+        this.showMessage(`Found ${page.items.length}${more} teachers`, 'success');
       },
       error: (error) => {
         console.error('Error filtering teachers:', error);
@@ -130,10 +215,29 @@ export class TeacherListComponent implements OnInit {
     this.maxAge = null;
     this.minClasses = null;
     this.maxClasses = null;
-    this.filteredTeachers = this.teachers;
+    this.loadTeachers();
     this.showMessage('Filters cleared', 'success');
   }
 
+  /**
+   * Append the next page of the current list, search or filter
+   */
+  loadMore(): void {
+    if (this.nextCursor == null) {
+      return;
+    }
+    this.pageSource(this.nextCursor).subscribe({
+      next: (page) => {
+        this.filteredTeachers = [...this.filteredTeachers, ...page.items];
+        this.nextCursor = page.nextCursor;
+      },
+      error: (error) => {
+        console.error('Error loading more teachers:', error);
+        this.showMessage('Error loading more teachers', 'error');
+      }
+    });
+  }
+
   /**
    * Delete a teacher
    */
@@ -141,7 +245,7 @@ export class TeacherListComponent implements OnInit {
     if (confirm('Are you sure you want to delete this teacher?')) {
       this.teacherService.deleteTeacher(id).subscribe({
         next: () => {
-          this.loadTeachers();
+          // TeacherService has already removed the row; the feed's echo of the delete is a no-op
           this.showMessage('Teacher deleted successfully', 'success');
         },
         error: (error) => {
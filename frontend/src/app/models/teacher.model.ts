@@ -7,6 +7,36 @@ export interface Teacher {
   dateOfBirth: string;
   numberOfClasses: number;
   age?: number;
+  // Row version from single-teacher reads; sent back, it makes an update fail with 409 if someone else changed the row
+  version?: number;
+}
+
+/**
+ * One keyset page of teachers; pass nextCursor back as "after" for the next page
+ */
+export interface TeacherPage {
+  items: Teacher[];
+  nextCursor: number | null;
+  limit: number;
+}
+
+/**
+ * One change from the /events stream, or from this client's own write; "resync" means local copies must be reloaded
+ */
+export interface TeacherChange {
+  type: 'CREATED' | 'UPDATED' | 'DELETED' | 'RESYNC';
+  // Data version of the change; absent on changes this client applies from its own responses
+  version?: number;
+  id?: number;
+  teacher?: Teacher;
+}
+
+/**
+ * Autocomplete suggestion for a teacher name
+ */
+export interface TeacherSuggestion {
+  id: number;
+  fullName: string;
 }
 
 /**
@@ -26,4 +56,6 @@ export interface FilterCriteria {
 export interface TeacherStatistics {
   totalTeachers: number;
   averageClasses: number;
+  classesDistribution?: { [classes: string]: number };
+  ageDistribution?: { [age: string]: number };
 }
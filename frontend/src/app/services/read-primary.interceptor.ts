@@ -0,0 +1,29 @@
+import { Injectable } from '@angular/core';
+import { HttpEvent, HttpHandler, HttpInterceptor, HttpRequest, HttpResponse } from '@angular/common/http';
+import { Observable } from 'rxjs';
+import { tap } from 'rxjs/operators';
+
+const READ_PRIMARY_HEADER = 'X-Read-Primary-Until';
+
+/**
+ * Read-your-writes when the backend reads from a replica: after a write the server names a time
+ * until which this client's reads should go to the primary, and this echoes it on every request
+ */
+@Injectable()
+export class ReadPrimaryInterceptor implements HttpInterceptor {
+  private readPrimaryUntil = 0;
+
+  intercept(request: HttpRequest<unknown>, next: HttpHandler): Observable<HttpEvent<unknown>> {
+    if (this.readPrimaryUntil > Date.now()) {
+      request = request.clone({ setHeaders: { [READ_PRIMARY_HEADER]: this.readPrimaryUntil.toString() } });
+    }
+    return next.handle(request).pipe(
+      tap(event => {
+        const until = event instanceof HttpResponse ? Number(event.headers.get(READ_PRIMARY_HEADER)) : 0;
+        if (until > this.readPrimaryUntil) {
+          this.readPrimaryUntil = until;
+        }
+      })
+    );
+  }
+}
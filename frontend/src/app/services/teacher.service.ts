@@ -1,8 +1,34 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable, BehaviorSubject } from 'rxjs';
+import { Observable, BehaviorSubject, Subject } from 'rxjs';
 import { tap } from 'rxjs/operators';
-import { Teacher, FilterCriteria, TeacherStatistics } from '../models/teacher.model';
+import { Teacher, TeacherChange, TeacherPage, TeacherSuggestion, FilterCriteria, TeacherStatistics } from '../models/teacher.model';
+
+/**
+ * Apply one change to a list of teachers, by id, so applying it twice changes nothing
+ * A created teacher is appended only when canAppend; an update older than the row held is ignored
+ */
+export function applyTeacherChange(teachers: Teacher[], change: TeacherChange, canAppend: boolean): Teacher[] {
+  switch (change.type) {
+    case 'CREATED':
+    case 'UPDATED': {
+      const teacher = change.teacher!;
+      const index = teachers.findIndex(t => t.id === teacher.id);
+      if (index < 0) {
+        return change.type === 'CREATED' && canAppend ? [...teachers, teacher] : teachers;
+      }
+      const held = teachers[index];
+      if (held.version != null && teacher.version != null && held.version > teacher.version) {
+        return teachers;
+      }
+      return teachers.map((t, i) => i === index ? teacher : t);
+    }
+    case 'DELETED':
+      return teachers.filter(t => t.id !== change.id);
+    default:
+      return teachers;
+  }
+}
 
 /**
  * Service for handling teacher-related HTTP operations
@@ -20,19 +46,62 @@ export class TeacherService {
   // Loading state
   private loadingSubject = new BehaviorSubject<boolean>(false);
   public loading$ = this.loadingSubject.asObservable();
+  
+  // Changes pushed by the server, so views can patch what they show instead of reloading
+  private changesSubject = new Subject<TeacherChange>();
+  public changes$ = this.changesSubject.asObservable();
+  private hasMorePages = false;
+  // Ids never come back, so changes for a deleted teacher arriving late can be dropped
+  // Cleared on every reload, which also runs on RESYNC, as the fresh page already leaves them out
+  private deletedIds = new Set<number>();
 
   constructor(private http: HttpClient) {
     this.loadTeachers();
+    this.listenForChanges();
+  }
+
+  /**
+   * Subscribe to the server's change feed; EventSource reconnects on its own and
+   * sends Last-Event-ID, which gets a resync if anything was missed in between
+   */
+  private listenForChanges(): void {
+    const events = new EventSource(`${this.apiUrl}/events`);
+    for (const name of ['created', 'updated', 'deleted', 'resync']) {
+      events.addEventListener(name, (event) => this.applyChange(JSON.parse((event as MessageEvent).data)));
+    }
+  }
+
+  /**
+   * Patch the first page held here, then pass the change on to views
+   * Each write is applied when its response arrives and again when the feed echoes it, so both must agree
+   */
+  private applyChange(change: TeacherChange): void {
+    if (change.id != null && this.deletedIds.has(change.id)) {
+      // A create or update echoed after this client already deleted the teacher
+      return;
+    }
+    if (change.type === 'DELETED') {
+      this.deletedIds.add(change.id!);
+    }
+    if (change.type === 'RESYNC') {
+      this.loadTeachers();
+    } else {
+      // New ids sort last, so they only belong on the first page when it holds every teacher
+      this.teachersSubject.next(applyTeacherChange(this.teachersSubject.value, change, !this.hasMorePages));
+    }
+    this.changesSubject.next(change);
   }
 
   /**
-   * Load all teachers
+   * Load the first page of teachers
    */
   loadTeachers(): void {
     this.loadingSubject.next(true);
-    this.http.get<Teacher[]>(this.apiUrl).pipe(
-      tap(teachers => {
-        this.teachersSubject.next(teachers);
+    this.http.get<TeacherPage>(this.apiUrl).pipe(
+      tap(page => {
+        this.deletedIds.clear();
+        this.teachersSubject.next(page.items);
+        this.hasMorePages = page.nextCursor != null;
         this.loadingSubject.next(false);
       })
     ).subscribe({
@@ -44,10 +113,10 @@ export class TeacherService {
   }
 
   /**
-   * Get all teachers
+   * Get one page of teachers
    */
-  getAllTeachers(): Observable<Teacher[]> {
-    return this.http.get<Teacher[]>(this.apiUrl);
+  getAllTeachers(after?: number | null): Observable<TeacherPage> {
+    return this.http.get<TeacherPage>(this.apiUrl, { params: this.pageParams(after) });
   }
 
   /**
@@ -62,7 +131,7 @@ export class TeacherService {
    */
   createTeacher(teacher: Teacher): Observable<Teacher> {
     return this.http.post<Teacher>(this.apiUrl, teacher).pipe(
-      tap(() => this.loadTeachers())
+      tap(created => this.applyChange({ type: 'CREATED', id: created.id, teacher: created }))
     );
   }
 
@@ -71,7 +140,16 @@ export class TeacherService {
    */
   updateTeacher(id: number, teacher: Teacher): Observable<Teacher> {
     return this.http.put<Teacher>(`${this.apiUrl}/${id}`, teacher).pipe(
-      tap(() => this.loadTeachers())
+      tap(updated => this.applyChange({ type: 'UPDATED', id, teacher: updated }))
+    );
+  }
+
+  /**
+   * Change only the given fields of a teacher
+   */
+  patchTeacher(id: number, changes: Partial<Teacher>): Observable<Teacher> {
+    return this.http.patch<Teacher>(`${this.apiUrl}/${id}`, changes).pipe(
+      tap(updated => this.applyChange({ type: 'UPDATED', id, teacher: updated }))
     );
   }
 
@@ -80,23 +158,33 @@ export class TeacherService {
    */
   deleteTeacher(id: number): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/${id}`).pipe(
-      tap(() => this.loadTeachers())
+      tap(() => this.applyChange({ type: 'DELETED', id }))
     );
   }
 
   /**
    * Search teachers by name
    */
-  searchTeachers(query: string): Observable<Teacher[]> {
-    const params = new HttpParams().set('query', query);
-    return this.http.get<Teacher[]>(`${this.apiUrl}/search`, { params });
+  searchTeachers(query: string, after?: number | null): Observable<TeacherPage> {
+    const params = this.pageParams(after).set('query', query);
+    return this.http.get<TeacherPage>(`${this.apiUrl}/search`, { params });
+  }
+
+  /**
+   * Suggest teacher names starting with a prefix
+   */
+  suggestTeachers(prefix: string, limit = 10): Observable<TeacherSuggestion[]> {
+    const params = new HttpParams()
+      .set('prefix', prefix)
+      .set('limit', limit.toString());
+    return this.http.get<TeacherSuggestion[]>(`${this.apiUrl}/suggest`, { params });
   }
 
   /**
    * Filter teachers by criteria
    */
-  filterTeachers(criteria: FilterCriteria): Observable<Teacher[]> {
-    return this.http.post<Teacher[]>(`${this.apiUrl}/filter`, criteria);
+  filterTeachers(criteria: FilterCriteria, after?: number | null): Observable<TeacherPage> {
+    return this.http.post<TeacherPage>(`${this.apiUrl}/filter`, criteria, { params: this.pageParams(after) });
   }
 
   /**
@@ -140,6 +228,17 @@ export class TeacherService {
     return this.http.get(`${this.apiUrl}/export/excel`, { responseType: 'blob' });
   }
 
+  /**
+   * Build the cursor query parameter for paginated endpoints
+   */
+  private pageParams(after?: number | null): HttpParams {
+    let params = new HttpParams();
+    if (after != null) {
+      params = params.set('after', after.toString());
+    }
+    return params;
+  }
+
   /**
    * Download file helper
    */
@@ -2,9 +2,10 @@ import { bootstrapApplication } from '@angular/platform-browser';
 import { AppComponent } from './app/app.component';
 import { importProvidersFrom } from '@angular/core';
 import { BrowserAnimationsModule } from '@angular/platform-browser/animations';
-import { HttpClientModule } from '@angular/common/http';
+import { HTTP_INTERCEPTORS, HttpClientModule } from '@angular/common/http';
 import { RouterModule } from '@angular/router';
 import { routes } from './app/app-routing.module';
+import { ReadPrimaryInterceptor } from './app/services/read-primary.interceptor';
 
 bootstrapApplication(AppComponent, {
   providers: [
@@ -12,6 +13,7 @@ bootstrapApplication(AppComponent, {
       BrowserAnimationsModule,
       HttpClientModule,
       RouterModule.forRoot(routes)
-    )
+    ),
+    { provide: HTTP_INTERCEPTORS, useClass: ReadPrimaryInterceptor, multi: true }
   ]
 }).catch(err => console.error(err));
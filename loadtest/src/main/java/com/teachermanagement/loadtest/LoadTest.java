@@ -0,0 +1,188 @@
+package com.teachermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.teachermanagement.TeacherManagementApplication;
+import com.teachermanagement.service.TeacherBulkService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP load test for the backend
+ * Boots the application on a random port against a local database, seeds synthetic
+ * teachers, then drives each scenario in turn with a fixed number of closed-loop
+ * clients and writes throughput and latency percentiles to a JSON report
+ */
+public class LoadTest {
+    
+    private static final int SEED_BATCH = 5000;
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        
+        ConfigurableApplicationContext context = startApplication(options);
+        try {
+            seed(context.getBean(TeacherBulkService.class), options.getTeachers());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI base = URI.create("http://localhost:" + port);
+            
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : options.getScenarios()) {
+                ScenarioResult result = run(client, base, scenario, options);
+                results.add(result);
+                System.out.printf("%-13s %8d req %6d err %10.2f req/s   p50 %8.2f ms   p95 %8.2f ms   p99 %8.2f ms%n",
+                        result.getScenario(), result.getRequests(), result.getErrors(),
+                        result.getThroughputPerSecond(), result.getP50Ms(), result.getP95Ms(), result.getP99Ms());
+            }
+            
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("settings", options.describe());
+            report.put("results", results);
+            File file = new File(options.getReport());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            System.out.println("Report written to " + file.getAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+    
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        List<String> args = new ArrayList<>(List.of(
+                // Command-line arguments, so they override the Postgres settings in application.yml
+                "--server.port=0",
+                "--spring.datasource.url=" + options.getJdbcUrl(),
+                "--spring.datasource.username=" + options.getUsername(),
+                "--spring.datasource.password=" + options.getPassword(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.teachermanagement=WARN",
+                "--logging.level.org.springframework.web=WARN"));
+        if (options.getJdbcUrl().startsWith("jdbc:h2:")) {
+            args.addAll(List.of(
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.hibernate.ddl-auto=create"));
+        }
+        args.addAll(options.getApplicationArgs());
+        return new SpringApplicationBuilder(TeacherManagementApplication.class).run(args.toArray(new String[0]));
+    }
+    
+    private static void seed(TeacherBulkService bulkService, int teachers) {
+        SyntheticTeachers generator = new SyntheticTeachers();
+        for (int seeded = 0; seeded < teachers; seeded += SEED_BATCH) {
+            bulkService.createTeachers(generator.next(Math.min(SEED_BATCH, teachers - seeded)));
+        }
+        System.out.println("Seeded " + teachers + " teachers");
+    }
+    
+    /**
+     * Drive one scenario with concurrency clients, each sending its next request as soon
+     * as the previous response is fully read; only responses completed inside the window count
+     */
+    private static ScenarioResult run(HttpClient client, URI base, Scenario scenario,
+                                      LoadTestOptions options) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(options.getWarmupSeconds()).toNanos();
+        long end = measureFrom + Duration.ofSeconds(options.getDurationSeconds()).toNanos();
+        
+        List<Future<Worker>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency());
+        try {
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                Worker worker = new Worker(client, base, scenario, options.getTeachers(), new Random(i));
+                futures.add(executor.submit(() -> worker.run(measureFrom, end)));
+            }
+            
+            long[] latencies = new long[0];
+            long errors = 0;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + worker.count);
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                errors += worker.errors;
+            }
+            return new ScenarioResult(scenario, latencies, errors, options.getDurationSeconds());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * One closed-loop client, recording latencies into a growable array
+     */
+    private static final class Worker {
+        
+        private final HttpClient client;
+        private final URI base;
+        private final Scenario scenario;
+        private final int teachers;
+        private final Random random;
+        
+        private long[] latencies = new long[1024];
+        private int count = 0;
+        private long errors = 0;
+        
+        Worker(HttpClient client, URI base, Scenario scenario, int teachers, Random random) {
+            this.client = client;
+            this.base = base;
+            this.scenario = scenario;
+            this.teachers = teachers;
+            this.random = random;
+        }
+        
+        Worker run(long measureFrom, long end) {
+            long now = System.nanoTime();
+            while (now < end) {
+                boolean ok;
+                try {
+                    HttpResponse<Void> response = client.send(scenario.request(base, random, teachers),
+                            HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() < 400;
+                } catch (Exception e) {
+                    System.err.println(scenario.label() + " failed: " + e);
+                    ok = false;
+                }
+                long finished = System.nanoTime();
+                if (finished >= measureFrom && finished <= end) {
+                    record(ok, finished - now);
+                }
+                now = finished;
+            }
+            return this;
+        }
+        
+        private void record(boolean ok, long latency) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
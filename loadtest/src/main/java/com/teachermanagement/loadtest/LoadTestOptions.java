@@ -0,0 +1,132 @@
+package com.teachermanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command-line options of the load test, given as --name=value
+ * Options starting with --spring. or --teacher. are passed through to the application
+ */
+public class LoadTestOptions {
+    
+    // H2 speaking the PostgreSQL dialect, so the repository queries run unchanged
+    private static final String DEFAULT_JDBC_URL =
+            "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    
+    private int teachers = 10000;
+    private int concurrency = 16;
+    private int warmupSeconds = 5;
+    private int durationSeconds = 30;
+    private List<Scenario> scenarios = List.of(Scenario.values());
+    private String jdbcUrl = DEFAULT_JDBC_URL;
+    private String username = "sa";
+    private String password = "";
+    private String report = "loadtest-report.json";
+    private final List<String> applicationArgs = new ArrayList<>();
+    
+    /**
+     * Parse the arguments, failing on any option it does not know
+     */
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--teacher.")) {
+                options.applicationArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "teachers" -> options.teachers = positive(name, value);
+                case "concurrency" -> options.concurrency = positive(name, value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = positive(name, value);
+                case "scenarios" -> options.scenarios = scenarios(value);
+                case "jdbc-url" -> options.jdbcUrl = value;
+                case "username" -> options.username = value;
+                case "password" -> options.password = value;
+                case "report" -> options.report = value;
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return options;
+    }
+    
+    /**
+     * Settings recorded alongside the results in the report
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("teachers", teachers);
+        settings.put("concurrency", concurrency);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("database", jdbcUrl);
+        settings.put("applicationArgs", applicationArgs);
+        return settings;
+    }
+    
+    private static int positive(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed < 1) {
+            throw new IllegalArgumentException("--" + name + " must be at least 1");
+        }
+        return parsed;
+    }
+    
+    private static List<Scenario> scenarios(String value) {
+        List<Scenario> parsed = new ArrayList<>();
+        for (String name : value.split(",")) {
+            parsed.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_')));
+        }
+        return parsed;
+    }
+    
+    // Getters
+    public int getTeachers() {
+        return teachers;
+    }
+    
+    public int getConcurrency() {
+        return concurrency;
+    }
+    
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+    
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    public String getReport() {
+        return report;
+    }
+    
+    public List<String> getApplicationArgs() {
+        return applicationArgs;
+    }
+}
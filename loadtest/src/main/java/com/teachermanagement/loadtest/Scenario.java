@@ -0,0 +1,67 @@
+package com.teachermanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Random;
+
+/**
+ * Endpoints the load test can drive, each building a randomized request
+ */
+public enum Scenario {
+    
+    LIST {
+        @Override
+        HttpRequest request(URI base, Random random, int teachers) {
+            // A random keyset page, so reads are spread over the whole table
+            long after = random.nextInt(teachers);
+            return HttpRequest.newBuilder(base.resolve("/api/teachers?limit=50&after=" + after)).build();
+        }
+    },
+    SEARCH {
+        @Override
+        HttpRequest request(URI base, Random random, int teachers) {
+            String term = SyntheticTeachers.LAST_NAMES[random.nextInt(SyntheticTeachers.LAST_NAMES.length)];
+            return HttpRequest.newBuilder(base.resolve("/api/teachers/search?limit=50&query=" + term)).build();
+        }
+    },
+    FILTER {
+        @Override
+        HttpRequest request(URI base, Random random, int teachers) {
+            int minAge = 25 + random.nextInt(30);
+            int minClasses = 1 + random.nextInt(40);
+            String criteria = "{\"minAge\":" + minAge + ",\"maxAge\":" + (minAge + 10)
+                    + ",\"minClasses\":" + minClasses + ",\"maxClasses\":" + (minClasses + 10) + "}";
+            return HttpRequest.newBuilder(base.resolve("/api/teachers/filter?limit=50"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(criteria))
+                    .build();
+        }
+    },
+    STATISTICS {
+        @Override
+        HttpRequest request(URI base, Random random, int teachers) {
+            return HttpRequest.newBuilder(base.resolve("/api/teachers/statistics")).build();
+        }
+    },
+    EXPORT_PDF {
+        @Override
+        HttpRequest request(URI base, Random random, int teachers) {
+            return HttpRequest.newBuilder(base.resolve("/api/teachers/export/pdf")).build();
+        }
+    },
+    EXPORT_EXCEL {
+        @Override
+        HttpRequest request(URI base, Random random, int teachers) {
+            return HttpRequest.newBuilder(base.resolve("/api/teachers/export/excel")).build();
+        }
+    };
+    
+    abstract HttpRequest request(URI base, Random random, int teachers);
+    
+    /**
+     * Name used on the command line and in the report
+     */
+    public String label() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
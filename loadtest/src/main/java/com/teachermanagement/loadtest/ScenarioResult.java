@@ -0,0 +1,80 @@
+package com.teachermanagement.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Throughput and latency percentiles measured for one scenario
+ */
+public class ScenarioResult {
+    
+    private final String scenario;
+    private final long requests;
+    private final long errors;
+    private final double throughputPerSecond;
+    private final double p50Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final double maxMs;
+    
+    /**
+     * Summarize the latencies, in nanoseconds, of the successful requests of one run
+     */
+    public ScenarioResult(Scenario scenario, long[] latenciesNanos, long errors, double seconds) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        this.scenario = scenario.label();
+        this.requests = sorted.length;
+        this.errors = errors;
+        this.throughputPerSecond = round(sorted.length / seconds);
+        this.p50Ms = percentile(sorted, 0.50);
+        this.p95Ms = percentile(sorted, 0.95);
+        this.p99Ms = percentile(sorted, 0.99);
+        this.maxMs = sorted.length > 0 ? round(sorted[sorted.length - 1] / 1e6) : 0;
+    }
+    
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length) - 1;
+        return round(sorted[Math.max(rank, 0)] / 1e6);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+    
+    // Getters
+    public String getScenario() {
+        return scenario;
+    }
+    
+    public long getRequests() {
+        return requests;
+    }
+    
+    public long getErrors() {
+        return errors;
+    }
+    
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+    
+    public double getP50Ms() {
+        return p50Ms;
+    }
+    
+    public double getP95Ms() {
+        return p95Ms;
+    }
+    
+    public double getP99Ms() {
+        return p99Ms;
+    }
+    
+    public double getMaxMs() {
+        return maxMs;
+    }
+}
@@ -0,0 +1,41 @@
+package com.teachermanagement.loadtest;
+
+import com.teachermanagement.dto.TeacherDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic teachers used to seed the database
+ * The same seed always yields the same rows, so runs are comparable
+ */
+final class SyntheticTeachers {
+    
+    static final String[] FIRST_NAMES = {
+            "Anita", "Ravi", "Maria", "John", "Priya", "Ahmed", "Chen", "Olga", "Kwame", "Sofia"
+    };
+    static final String[] LAST_NAMES = {
+            "Sharma", "Garcia", "Smith", "Okafor", "Ivanova", "Nakamura", "Reddy", "Muller", "Silva", "Khan"
+    };
+    
+    private final Random random = new Random(42);
+    private final LocalDate today = LocalDate.now();
+    private int generated = 0;
+    
+    /**
+     * The next batch of up to size teachers, without ids
+     */
+    List<TeacherDTO> next(int size) {
+        List<TeacherDTO> teachers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            generated++;
+            LocalDate dateOfBirth = today.minusDays(22 * 365 + random.nextInt(40 * 365));
+            String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + generated;
+            teachers.add(new TeacherDTO(null, fullName, dateOfBirth, 1 + random.nextInt(50), null));
+        }
+        return teachers;
+    }
+}